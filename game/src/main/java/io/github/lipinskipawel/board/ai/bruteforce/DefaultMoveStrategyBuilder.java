@@ -3,15 +3,27 @@ package io.github.lipinskipawel.board.ai.bruteforce;
 import io.github.lipinskipawel.board.ai.BoardEvaluator;
 import io.github.lipinskipawel.board.ai.MoveStrategy;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 public final class DefaultMoveStrategyBuilder {
     private BoardEvaluator defaultEvaluator;
-    private int timeout;
+    private long timeoutInMillis;
     private int depth;
+    private int threads;
+    private boolean youngBrothersWait;
+    private int transpositionTableSizeInMegabytes;
+    private Consumer<TranspositionTableStatistics> transpositionTableListener;
 
     private DefaultMoveStrategyBuilder() {
         this.defaultEvaluator = new SmartBoardEvaluator();
-        this.timeout = 5;
+        this.timeoutInMillis = 5_000;
         this.depth = 3;
+        this.threads = 1;
+        this.youngBrothersWait = false;
+        this.transpositionTableSizeInMegabytes = 1;
+        this.transpositionTableListener = statistics -> {
+        };
     }
 
     public static DefaultMoveStrategyBuilder aDefaultMoveStrategyBuilder() {
@@ -23,17 +35,101 @@ public final class DefaultMoveStrategyBuilder {
         return this;
     }
 
+    /**
+     * The search deepens iteratively from depth 1 up to the given depth or until the timeout.
+     *
+     * @param depth maximum depth of the search
+     * @return this builder
+     */
     public DefaultMoveStrategyBuilder withDepth(final int depth) {
         this.depth = depth;
         return this;
     }
 
     public DefaultMoveStrategyBuilder withTimeoutInSeconds(final int timeout) {
-        this.timeout = timeout;
+        this.timeoutInMillis = TimeUnit.SECONDS.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * When the time is up the search returns the best move of the last completed iteration.
+     *
+     * @param timeoutInMillis time budget of a single search in milliseconds
+     * @return this builder
+     */
+    public DefaultMoveStrategyBuilder withTimeoutInMillis(final long timeoutInMillis) {
+        this.timeoutInMillis = timeoutInMillis;
+        return this;
+    }
+
+    /**
+     * Every thread searches the same root moves in the Lazy SMP fashion, with staggered depths and the shared
+     * transposition table. A single thread searches alone.
+     *
+     * @param threads number of threads of a single search, 1 by default
+     * @return this builder
+     * @throws IllegalArgumentException when the number of threads is not positive
+     */
+    public DefaultMoveStrategyBuilder withThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive, was " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * The built strategy splits the search tree between threads by the Young Brothers Wait rule instead of searching
+     * the same root moves on every thread. Every node searches its first move alone and then searches the other moves in
+     * parallel as fork-join tasks sharing bounds of the search. The number of threads is set by
+     * {@link #withThreads(int)}, the transposition table is not used.
+     *
+     * @return this builder
+     */
+    public DefaultMoveStrategyBuilder withYoungBrothersWait() {
+        this.youngBrothersWait = true;
+        return this;
+    }
+
+    /**
+     * The transposition table is allocated by {@link #build()} and shared by all searches of the built strategy, so
+     * every built strategy keeps the given number of megabytes on the heap for as long as it is used. A bigger table
+     * keeps more positions of deep searches.
+     *
+     * @param sizeInMegabytes memory taken by the transposition table, 1 MB by default
+     * @return this builder
+     */
+    public DefaultMoveStrategyBuilder withTranspositionTableSizeInMegabytes(final int sizeInMegabytes) {
+        this.transpositionTableSizeInMegabytes = sizeInMegabytes;
+        return this;
+    }
+
+    /**
+     * @param listener called after every search with statistics of the transposition table
+     * @return this builder
+     */
+    public DefaultMoveStrategyBuilder withTranspositionTableListener(final Consumer<TranspositionTableStatistics> listener) {
+        this.transpositionTableListener = listener;
         return this;
     }
 
+    /**
+     * The strategy built without {@link #withYoungBrothersWait()} allocates its transposition table, 1 MB unless
+     * changed by {@link #withTranspositionTableSizeInMegabytes(int)}.
+     *
+     * @return the strategy
+     */
     public MoveStrategy build() {
-        return new MiniMaxAlphaBeta(defaultEvaluator, depth, timeout);
+        if (youngBrothersWait) {
+            return new YoungBrothersWait(defaultEvaluator, depth, timeoutInMillis, threads);
+        }
+        return new MiniMaxAlphaBeta(
+            defaultEvaluator,
+            depth,
+            timeoutInMillis,
+            threads,
+            new TranspositionTable(transpositionTableSizeInMegabytes),
+            transpositionTableListener
+        );
     }
 }
@@ -3,63 +3,111 @@ package io.github.lipinskipawel.board.ai.bruteforce;
 import io.github.lipinskipawel.board.ai.BoardEvaluator;
 import io.github.lipinskipawel.board.ai.MoveStrategy;
 import io.github.lipinskipawel.board.engine.Board;
-import io.github.lipinskipawel.board.engine.LegalMovesFuture;
 import io.github.lipinskipawel.board.engine.Move;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static java.lang.Math.max;
-import static java.lang.Math.min;
+import static java.util.stream.Collectors.toList;
 
+/**
+ * Iterative deepening alpha-beta search. The search is run by the configured number of threads in the Lazy SMP
+ * fashion. The calling thread waits for the main search thread, which finds root moves and completes the first
+ * iteration. Then helper threads start to search the same root moves, every other helper one iteration ahead of the
+ * main thread. All threads share the transposition table, so they mostly use results of each other instead of
+ * searching the same positions. The best move of the deepest completed iteration of any thread is returned.
+ */
 final class MiniMaxAlphaBeta implements MoveStrategy {
 
     private final BoardEvaluator evaluator;
     private final int depth;
-    private final int timeout;
+    private final long timeoutInMillis;
+    private final int threads;
+    private final TranspositionTable table;
+    private final Consumer<TranspositionTableStatistics> listener;
+    private final TranspositionTable.Entry entry;
     private final AtomicReference<Move> bestMove;
-    private volatile boolean cancel;
+    private final AtomicInteger completedDepth;
+    private final AtomicBoolean cancel;
 
     MiniMaxAlphaBeta(final BoardEvaluator defaultEvaluator,
                      final int depth,
-                     final int timeout) {
+                     final long timeoutInMillis,
+                     final int threads,
+                     final TranspositionTable table,
+                     final Consumer<TranspositionTableStatistics> listener) {
         this.evaluator = defaultEvaluator;
         this.depth = depth;
-        this.timeout = timeout;
+        this.timeoutInMillis = timeoutInMillis;
+        this.threads = threads;
+        this.table = table;
+        this.listener = listener;
+        this.entry = new TranspositionTable.Entry();
         this.bestMove = new AtomicReference<>(Move.emptyMove());
-        this.cancel = false;
+        this.completedDepth = new AtomicInteger();
+        this.cancel = new AtomicBoolean();
     }
 
-    private MiniMaxAlphaBeta(final MiniMaxAlphaBeta miniMaxAlphaBeta) {
+    private MiniMaxAlphaBeta(final MiniMaxAlphaBeta miniMaxAlphaBeta,
+                             final AtomicReference<Move> bestMove,
+                             final AtomicInteger completedDepth,
+                             final AtomicBoolean cancel) {
         this.evaluator = miniMaxAlphaBeta.evaluator;
         this.depth = miniMaxAlphaBeta.depth;
-        this.timeout = miniMaxAlphaBeta.timeout;
-        this.bestMove = new AtomicReference<>(Move.emptyMove());
-        this.cancel = false;
+        this.timeoutInMillis = miniMaxAlphaBeta.timeoutInMillis;
+        this.threads = miniMaxAlphaBeta.threads;
+        this.table = miniMaxAlphaBeta.table;
+        this.listener = miniMaxAlphaBeta.listener;
+        this.entry = new TranspositionTable.Entry();
+        this.bestMove = bestMove;
+        this.completedDepth = completedDepth;
+        this.cancel = cancel;
     }
 
+    /**
+     * @param board to search best move on
+     * @param pool  which runs the main search thread and helper threads, it should have at least as many threads as
+     *              the strategy has been configured with, otherwise helpers wait for a free thread
+     * @return best move
+     */
     Move searchForTheBestMove(Board<?> board, ExecutorService pool) {
-        final var copy = new MiniMaxAlphaBeta(this);
+        final var copy = new MiniMaxAlphaBeta(
+            this,
+            new AtomicReference<>(Move.emptyMove()),
+            new AtomicInteger(),
+            new AtomicBoolean()
+        );
+        this.table.newSearch();
         final var searchingForMove = pool.submit(
-            () -> copy.execute(board, copy.depth)
+            () -> copy.execute(board, pool)
         );
         try {
-            searchingForMove.get(timeout, TimeUnit.SECONDS);
+            searchingForMove.get(timeoutInMillis, TimeUnit.MILLISECONDS);
             return copy.bestMove.get();
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            copy.cancel = true;
             return copy.bestMove.get();
+        } finally {
+            copy.cancel.set(true);
+            this.listener.accept(this.table.statistics());
         }
     }
 
     @Override
     public Move searchForTheBestMove(Board<?> board) {
-        final var pool = Executors.newSingleThreadExecutor();
+        final var pool = Executors.newFixedThreadPool(threads);
         try {
             return searchForTheBestMove(board, pool);
         } finally {
@@ -67,46 +115,112 @@ final class MiniMaxAlphaBeta implements MoveStrategy {
         }
     }
 
-    void execute(final Board<?> board, final int depth) {
-        final var actualDepth = this.depth == 1 ? depth : this.depth;
-        final var holder = new Holder();
-
-        final var computation = board.allLegalMovesFuture();
-        computation.start(Duration.ofSeconds(this.timeout));
+    /**
+     * This method searches the board by iterative deepening, every iteration searches all root moves one level deeper
+     * than the previous one, up to the configured depth. The best move is published only when the whole iteration
+     * has been searched, so a cancelled search returns the best move of the last completed iteration. Root moves are
+     * sorted by their scores after every iteration and the next iteration searches them in that order.
+     *
+     * @param board to search best move on
+     * @param pool  to start helper threads on
+     */
+    void execute(final Board<?> board, final ExecutorService pool) {
+        final var rootMoves = new ArrayList<RootMove>();
+        final var legalMoves = board.legalMovesSpliterator();
+        while (!this.cancel.get() && legalMoves.tryAdvance(move -> processFoundMove(move, board, rootMoves))) {
+            // every tryAdvance finds and processes a single move
+        }
+        if (this.cancel.get() || rootMoves.isEmpty()) {
+            return;
+        }
+        completeIteration(rootMoves, Collections.max(rootMoves, Comparator.comparingDouble(rootMove -> rootMove.score)), 1);
+        if (rootMoves.size() > 1) {
+            startHelpers(board, rootMoves, pool);
+        }
+        deepen(board, rootMoves, 2);
+    }
 
-        while (computation.isRunning()) {
-            processFoundMoves(computation, board, actualDepth, holder);
+    private void startHelpers(final Board<?> board, final List<RootMove> rootMoves, final ExecutorService pool) {
+        for (var helper = 1; helper < this.threads && !this.cancel.get(); helper++) {
+            final var helperSearch = new MiniMaxAlphaBeta(this, this.bestMove, this.completedDepth, this.cancel);
+            final var helperRootMoves = rootMoves.stream()
+                .map(rootMove -> new RootMove(rootMove.move, rootMove.score))
+                .collect(toList());
+            final var firstIteration = 2 + helper % 2;
+            try {
+                pool.execute(() -> helperSearch.deepen(board, helperRootMoves, firstIteration));
+            } catch (RejectedExecutionException e) {
+                return;
+            }
         }
-        processFoundMoves(computation, board, actualDepth, holder);
     }
 
-    private void processFoundMoves(final LegalMovesFuture legalMovesFuture,
-                                   final Board<?> board,
-                                   int actualDepth,
-                                   final Holder holder) {
-        for (final Move move : legalMovesFuture.partialResult()) {
-            setFirstMoveAsBestOnlyIfGlobalBestMoveIsEmpty(move);
-            if (this.cancel) {
-                legalMovesFuture.cancel();
-                break;
+    /**
+     * Every iteration searches the first root move with the full window and other root moves with the null window
+     * right above the best score so far. Only a move which turns out to be better is searched again with the full
+     * window, so every iteration finds the exact score of the best move and bounds of other moves.
+     */
+    private void deepen(final Board<?> board, final List<RootMove> rootMoves, final int firstIteration) {
+        for (var iteration = firstIteration; iteration <= this.depth && rootMoves.size() > 1; iteration++) {
+            var alpha = -Double.MAX_VALUE;
+            var best = rootMoves.get(0);
+            for (var i = 0; i < rootMoves.size(); i++) {
+                if (this.cancel.get()) {
+                    return;
+                }
+                final var rootMove = rootMoves.get(i);
+                final var afterMove = board.executeMove(rootMove.move);
+                var score = i == 0
+                    ? score(board, afterMove, iteration, alpha, Double.MAX_VALUE)
+                    : score(board, afterMove, iteration, alpha, Math.nextUp(alpha));
+                if (i > 0 && score > alpha) {
+                    score = score(board, afterMove, iteration, alpha, Double.MAX_VALUE);
+                }
+                rootMove.score = score;
+                if (i == 0 || score > alpha) {
+                    alpha = score;
+                    best = rootMove;
+                }
+            }
+            if (this.cancel.get()) {
+                return;
             }
+            completeIteration(rootMoves, best, iteration);
+        }
+    }
 
-            final var afterMove = board.executeMove(move);
-
-            holder.current = minimax(
-                afterMove,
-                actualDepth - 1,
-                0.0,
-                0.0,
-                board.getPlayer().equals(board.getPlayerProvider().first())
-            );
-
-            if (isFirstPlayer(board) && holder.isCurrentGE(holder.highest)) {
-                holder.highest = holder.current;
-                this.bestMove.set(move);
-            } else if (isSecondPlayer(board) && holder.isCurrentLE(holder.lowest)) {
-                holder.lowest = holder.current;
-                this.bestMove.set(move);
+    private void processFoundMove(final Move move,
+                                  final Board<?> board,
+                                  final List<RootMove> rootMoves) {
+        setFirstMoveAsBestOnlyIfGlobalBestMoveIsEmpty(move);
+        if (this.cancel.get()) {
+            return;
+        }
+        final var score = score(board, board.executeMove(move), 1, -Double.MAX_VALUE, Double.MAX_VALUE);
+        rootMoves.add(new RootMove(move, score));
+    }
+
+    /**
+     * @return score of the root move from the perspective of the player to move at the root
+     */
+    private double score(final Board<?> board,
+                         final Board<?> afterMove,
+                         final int depth,
+                         final double alpha,
+                         final double beta) {
+        return child(afterMove, isFirstPlayer(board), depth - 1, alpha, beta);
+    }
+
+    /**
+     * Root moves are sorted by their scores, the best move goes first because other moves may have the same bound.
+     */
+    private void completeIteration(final List<RootMove> rootMoves, final RootMove best, final int iteration) {
+        final Comparator<RootMove> bestFirst = Comparator.comparing(rootMove -> rootMove != best);
+        rootMoves.sort(bestFirst.thenComparing(Comparator.comparingDouble((RootMove rootMove) -> rootMove.score).reversed()));
+        synchronized (this.bestMove) {
+            if (iteration > this.completedDepth.get()) {
+                this.completedDepth.set(iteration);
+                this.bestMove.set(best.move);
             }
         }
     }
@@ -115,65 +229,129 @@ final class MiniMaxAlphaBeta implements MoveStrategy {
         return board.getPlayer().equals(board.getPlayerProvider().first());
     }
 
-    private boolean isSecondPlayer(Board<?> board) {
-        return board.getPlayer().equals(board.getPlayerProvider().second());
-    }
-
     private void setFirstMoveAsBestOnlyIfGlobalBestMoveIsEmpty(final Move move) {
         if (this.bestMove.get().equals(Move.emptyMove())) {
             this.bestMove.set(move);
         }
     }
 
-    private double minimax(final Board<?> board,
+    /**
+     * Negamax search with the principal variation search. The score is always from the perspective of the player to
+     * move, the evaluator scores boards for the first player, so scores of the second player are negated. The first
+     * move, taken from the transposition table when the position is there, is searched with the full window. Other
+     * moves are searched with the null window and searched again only when they turn out to be better.
+     */
+    private double negamax(final Board<?> board,
                            final int depth,
                            double alpha,
-                           double beta,
-                           final boolean maximizingPlayer) {
-        if (this.cancel || depth <= 0 || board.isGameOver())
-            return evaluator.evaluate(board);
-
-        if (!maximizingPlayer) {
-            var maxEval = -Double.MAX_VALUE;
-            final var allMoves = board.allLegalMoves();
-            for (final var move : allMoves) {
-                final var eval = minimax(
-                    board.executeMove(move), depth - 1, alpha, beta, true);
-                maxEval = max(maxEval, eval);
-                beta = min(beta, eval);
-                if (beta >= alpha) {
-                    break;
-                }
+                           final double beta) {
+        if (this.cancel.get() || depth <= 0 || board.isGameOver())
+            return evaluate(board);
+
+        final var key = board.positionKey();
+        var hashMove = TranspositionTable.NO_MOVE;
+        if (this.table.probe(key, this.entry)) {
+            if (this.entry.depth >= depth && isDecisive(this.entry, alpha, beta)) {
+                this.table.cutoff();
+                return this.entry.score;
             }
-            return maxEval;
-        } else {
-            var minEval = Double.MAX_VALUE;
-            final var allMoves = board.allLegalMoves();
-            for (final var move : allMoves) {
-                final var eval = minimax(
-                    board.executeMove(move), depth - 1, alpha, beta, false);
-                minEval = min(minEval, eval);
-                alpha = max(alpha, eval);
-                if (beta >= alpha) {
-                    break;
-                }
+            hashMove = this.entry.bestMove;
+        }
+
+        final var allMoves = board.distinctLegalMoves().collect(toList());
+        if (allMoves.isEmpty()) {
+            return evaluate(board);
+        }
+        final var firstPlayer = isFirstPlayer(board);
+        final var alphaAtStart = alpha;
+        var bestEval = -Double.MAX_VALUE;
+        var bestIndex = TranspositionTable.NO_MOVE;
+        for (var i = 0; i < allMoves.size(); i++) {
+            final var index = searchOrder(i, hashMove, allMoves.size());
+            final var afterMove = board.executeMove(allMoves.get(index));
+            var eval = i == 0
+                ? child(afterMove, firstPlayer, depth - 1, alpha, beta)
+                : child(afterMove, firstPlayer, depth - 1, alpha, Math.nextUp(alpha));
+            if (i > 0 && eval > alpha && eval < beta) {
+                eval = child(afterMove, firstPlayer, depth - 1, alpha, beta);
+            }
+            if (eval > bestEval) {
+                bestEval = eval;
+                bestIndex = index;
+            }
+            alpha = max(alpha, eval);
+            if (alpha >= beta) {
+                break;
             }
-            return minEval;
         }
+        if (!this.cancel.get()) {
+            this.table.store(key, depth, bound(bestEval, alphaAtStart, beta), bestEval, bestIndex);
+        }
+        return bestEval;
     }
 
+    /**
+     * @return score of the board after the move from the perspective of the player who has made the move
+     */
+    private double child(final Board<?> afterMove,
+                         final boolean firstPlayer,
+                         final int depth,
+                         final double alpha,
+                         final double beta) {
+        if (isFirstPlayer(afterMove) == firstPlayer) {
+            return negamax(afterMove, depth, alpha, beta);
+        }
+        return -negamax(afterMove, depth, -beta, -alpha);
+    }
 
-    private static class Holder {
-        double highest = -Double.MAX_VALUE;
-        double lowest = Double.MAX_VALUE;
-        double current;
+    private double evaluate(final Board<?> board) {
+        final var score = evaluator.evaluate(board);
+        return isFirstPlayer(board) ? score : -score;
+    }
+
+    private static boolean isDecisive(final TranspositionTable.Entry entry, final double alpha, final double beta) {
+        switch (entry.bound) {
+            case TranspositionTable.EXACT:
+                return true;
+            case TranspositionTable.LOWER_BOUND:
+                return entry.score >= beta;
+            case TranspositionTable.UPPER_BOUND:
+                return entry.score <= alpha;
+            default:
+                return false;
+        }
+    }
 
-        boolean isCurrentGE(double comparisonValue) {
-            return current >= comparisonValue;
+    private static int bound(final double eval, final double alpha, final double beta) {
+        if (eval <= alpha) {
+            return TranspositionTable.UPPER_BOUND;
+        }
+        if (eval >= beta) {
+            return TranspositionTable.LOWER_BOUND;
         }
+        return TranspositionTable.EXACT;
+    }
+
+    /**
+     * @return index of the move to search as the i-th one, the move from the transposition table goes first
+     */
+    private static int searchOrder(final int i, final int hashMove, final int numberOfMoves) {
+        if (hashMove >= numberOfMoves) {
+            return i;
+        }
+        if (i == 0) {
+            return hashMove;
+        }
+        return i <= hashMove ? i - 1 : i;
+    }
+
+    private static final class RootMove {
+        final Move move;
+        double score;
 
-        boolean isCurrentLE(double comparisonValue) {
-            return current <= comparisonValue;
+        RootMove(final Move move, final double score) {
+            this.move = move;
+            this.score = score;
         }
     }
 }
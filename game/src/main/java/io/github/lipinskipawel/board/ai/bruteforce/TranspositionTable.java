@@ -0,0 +1,160 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class keeps results of already searched positions, so positions reached through different orders of moves are
+ * not searched again. The table has a fixed size and is never resized.
+ * <p>
+ * Positions are stored in buckets of two entries. The first entry is depth-preferred, it is replaced only by a result
+ * of at least the same depth or by any result of a newer search. The second entry is always replaced. Every entry is
+ * packed into three longs:
+ * <pre>
+ * long   key ^ score ^ data
+ * long   score as {@link Double#doubleToRawLongBits(double)}
+ * long   data: depth (8 bits), bound (2 bits), search generation (8 bits), index of the best move (16 bits)
+ * </pre>
+ * This class is thread-safe without locks. Longs of an entry are written and read without any synchronization, an entry
+ * torn by concurrent writes does not pass the check of the first long and is treated as missing.
+ */
+final class TranspositionTable {
+    static final int EXACT = 1;
+    static final int LOWER_BOUND = 2;
+    static final int UPPER_BOUND = 3;
+    static final int NO_MOVE = 0xFFFF;
+    private static final int LONGS_PER_ENTRY = 3;
+    private static final int LONGS_PER_BUCKET = 2 * LONGS_PER_ENTRY;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int MAX_DEPTH = 0xFF;
+    private static final int BOUND_SHIFT = 8;
+    private static final int GENERATION_SHIFT = 10;
+    private static final int MOVE_SHIFT = 18;
+    private final long[] entries;
+    private final int bucketMask;
+    private final LongAdder probes;
+    private final LongAdder hits;
+    private final LongAdder cutoffs;
+    private volatile int generation;
+
+    /**
+     * @param sizeInMegabytes upper limit of the memory taken by the table, the number of buckets is the largest power
+     *                        of two which fits into it
+     */
+    TranspositionTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes <= 0) {
+            throw new IllegalArgumentException("Size of the transposition table must be positive, was " + sizeInMegabytes);
+        }
+        final var buckets = Long.highestOneBit(sizeInMegabytes * 1024L * 1024L / BYTES_PER_BUCKET);
+        if (buckets * LONGS_PER_BUCKET > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Transposition table of " + sizeInMegabytes + " MB is too big");
+        }
+        this.entries = new long[(int) buckets * LONGS_PER_BUCKET];
+        this.bucketMask = (int) buckets - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+        this.cutoffs = new LongAdder();
+    }
+
+    /**
+     * This method marks all stored entries as coming from an older search, so they are replaced first.
+     */
+    void newSearch() {
+        this.generation = (this.generation + 1) & 0xFF;
+    }
+
+    /**
+     * @param key   of the position
+     * @param found entry which is filled with the stored result when the position is in the table
+     * @return true when the position is in the table
+     */
+    boolean probe(final long key, final Entry found) {
+        this.probes.increment();
+        final var bucket = bucket(key);
+        for (var entry = bucket; entry < bucket + LONGS_PER_BUCKET; entry += LONGS_PER_ENTRY) {
+            final var check = this.entries[entry];
+            final var score = this.entries[entry + 1];
+            final var data = this.entries[entry + 2];
+            if (data != 0 && (check ^ score ^ data) == key) {
+                this.hits.increment();
+                found.depth = depth(data);
+                found.bound = (int) (data >>> BOUND_SHIFT) & 0b11;
+                found.score = Double.longBitsToDouble(score);
+                found.bestMove = (int) (data >>> MOVE_SHIFT) & NO_MOVE;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method records that the entry found by {@link #probe(long, Entry)} has ended the search of the position.
+     */
+    void cutoff() {
+        this.cutoffs.increment();
+    }
+
+    /**
+     * @param key      of the position
+     * @param depth    to which the position has been searched
+     * @param bound    {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param score    of the position
+     * @param bestMove index of the best move or {@link #NO_MOVE}
+     */
+    void store(final long key, final int depth, final int bound, final double score, final int bestMove) {
+        final var bucket = bucket(key);
+        final var generation = this.generation;
+        final var data = Math.min(depth, MAX_DEPTH)
+            | (long) bound << BOUND_SHIFT
+            | (long) generation << GENERATION_SHIFT
+            | (long) (bestMove & NO_MOVE) << MOVE_SHIFT;
+        final var preferred = this.entries[bucket + 2];
+        final var entry = preferred == 0
+            || depth >= depth(preferred)
+            || generation(preferred) != generation
+            || (this.entries[bucket] ^ this.entries[bucket + 1] ^ preferred) == key
+            ? bucket
+            : bucket + LONGS_PER_ENTRY;
+        final var scoreBits = Double.doubleToRawLongBits(score);
+        this.entries[entry] = key ^ scoreBits ^ data;
+        this.entries[entry + 1] = scoreBits;
+        this.entries[entry + 2] = data;
+    }
+
+    private static int depth(final long data) {
+        return (int) data & MAX_DEPTH;
+    }
+
+    private static int generation(final long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    private int bucket(final long key) {
+        return ((int) (key ^ key >>> 32) & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    TranspositionTableStatistics statistics() {
+        return new TranspositionTableStatistics(
+            this.entries.length / LONGS_PER_ENTRY,
+            this.probes.sum(),
+            this.hits.sum(),
+            this.cutoffs.sum()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{" +
+            "statistics=" + statistics() +
+            '}';
+    }
+
+    /**
+     * Result of a single {@link #probe(long, Entry)}. It is reused by a single search thread.
+     */
+    static final class Entry {
+        int depth;
+        int bound;
+        double score;
+        int bestMove;
+    }
+}
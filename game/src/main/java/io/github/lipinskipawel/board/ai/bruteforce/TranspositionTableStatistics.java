@@ -0,0 +1,93 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import java.util.Objects;
+
+/**
+ * This class is an API.
+ * This class holds counters of the transposition table used by the {@link io.github.lipinskipawel.board.ai.MoveStrategy}
+ * built by {@link DefaultMoveStrategyBuilder}. Counters are summed over all searches and all threads since the
+ * strategy has been built, see {@link DefaultMoveStrategyBuilder#withTranspositionTableListener}.
+ */
+public final class TranspositionTableStatistics {
+    private final long entries;
+    private final long probes;
+    private final long hits;
+    private final long cutoffs;
+
+    TranspositionTableStatistics(final long entries, final long probes, final long hits, final long cutoffs) {
+        this.entries = entries;
+        this.probes = probes;
+        this.hits = hits;
+        this.cutoffs = cutoffs;
+    }
+
+    /**
+     * @return number of entries the table can hold
+     */
+    public long entries() {
+        return entries;
+    }
+
+    /**
+     * @return number of positions looked up in the table
+     */
+    public long probes() {
+        return probes;
+    }
+
+    /**
+     * @return number of positions found in the table
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return number of positions which have not been searched because the found entry decided their score
+     */
+    public long cutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * @return hits divided by probes, 0 when there has been no probe
+     */
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /**
+     * @return cutoffs divided by probes, 0 when there has been no probe
+     */
+    public double cutoffRate() {
+        return probes == 0 ? 0 : (double) cutoffs / probes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TranspositionTableStatistics that = (TranspositionTableStatistics) o;
+        return entries == that.entries &&
+            probes == that.probes &&
+            hits == that.hits &&
+            cutoffs == that.cutoffs;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entries, probes, hits, cutoffs);
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTableStatistics{" +
+            "entries=" + entries +
+            ", probes=" + probes +
+            ", hits=" + hits +
+            ", cutoffs=" + cutoffs +
+            ", hitRate=" + hitRate() +
+            ", cutoffRate=" + cutoffRate() +
+            '}';
+    }
+}
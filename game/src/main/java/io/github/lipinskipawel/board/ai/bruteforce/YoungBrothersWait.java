@@ -0,0 +1,246 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import io.github.lipinskipawel.board.ai.BoardEvaluator;
+import io.github.lipinskipawel.board.ai.MoveStrategy;
+import io.github.lipinskipawel.board.engine.Board;
+import io.github.lipinskipawel.board.engine.Move;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Parallel alpha-beta search which splits the tree by the Young Brothers Wait rule. The first child of every node, the
+ * eldest brother, is searched by the thread which searches the node. Only when it has been searched, its younger
+ * brothers are forked as tasks of the {@link ForkJoinPool}, so they start with the bound found by the eldest brother.
+ * Nodes closer to leaves than {@link #MIN_SPLIT_DEPTH} search all children serially.
+ * <p>
+ * Every node keeps its alpha and beta which are updated as soon as any of its children has been searched. Before
+ * searching every child a node reads bounds of all its ancestors, so the bound found by one task narrows the window of
+ * all tasks below the same node. When the window of ancestors has closed the node stops and its result is ignored,
+ * this way the cutoff found in one task ends all tasks below the node where it has been found.
+ * <p>
+ * The search deepens iteratively in the same way as {@link MiniMaxAlphaBeta}. Root moves are searched in the order of
+ * scores of the previous iteration and the best move of the last completed iteration is returned when the time is up.
+ * <p>
+ * This class is thread-safe. Every search runs on its own {@link ForkJoinPool} and keeps its own state.
+ */
+final class YoungBrothersWait implements MoveStrategy {
+    static final int MIN_SPLIT_DEPTH = 2;
+    private final BoardEvaluator evaluator;
+    private final int depth;
+    private final long timeoutInMillis;
+    private final int parallelism;
+
+    YoungBrothersWait(final BoardEvaluator evaluator,
+                      final int depth,
+                      final long timeoutInMillis,
+                      final int parallelism) {
+        this.evaluator = evaluator;
+        this.depth = depth;
+        this.timeoutInMillis = timeoutInMillis;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Move searchForTheBestMove(final Board<?> board) {
+        final var pool = new ForkJoinPool(parallelism);
+        final var search = new Search(board);
+        try {
+            pool.submit(search::execute).get(timeoutInMillis, TimeUnit.MILLISECONDS);
+            return search.bestMove;
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            return search.bestMove;
+        } finally {
+            search.cancel = true;
+            pool.shutdown();
+        }
+    }
+
+    private static boolean isFirstPlayer(final Board<?> board) {
+        return board.getPlayer().equals(board.getPlayerProvider().first());
+    }
+
+    private final class Search {
+        private final Board<?> board;
+        private volatile Move bestMove;
+        private volatile boolean cancel;
+
+        private Search(final Board<?> board) {
+            this.board = board;
+            this.bestMove = Move.emptyMove();
+        }
+
+        private void execute() {
+            final var rootMoves = new ArrayList<Move>();
+            final var legalMoves = board.distinctLegalMoves().iterator();
+            while (!this.cancel && legalMoves.hasNext()) {
+                rootMoves.add(legalMoves.next());
+                if (rootMoves.size() == 1) {
+                    this.bestMove = rootMoves.get(0);
+                }
+            }
+            for (var iteration = 1; iteration <= depth && rootMoves.size() > 1; iteration++) {
+                final var root = new Node(this, null, -1, board, null, iteration, rootMoves);
+                root.invoke();
+                if (this.cancel) {
+                    return;
+                }
+                this.bestMove = rootMoves.get(root.bestChild);
+                order(rootMoves, root);
+            }
+        }
+    }
+
+    /**
+     * Moves which have not been better than the best one are only bounded by it, so the best move goes first and
+     * other moves are sorted by their bounds.
+     */
+    private static void order(final List<Move> rootMoves, final Node root) {
+        final var scores = root.scores;
+        final var order = new Integer[rootMoves.size()];
+        Arrays.setAll(order, i -> i);
+        final Comparator<Integer> byScore = Comparator.comparingDouble(i -> scores[i]);
+        final Comparator<Integer> bestFirst = Comparator.comparing(i -> i != root.bestChild);
+        Arrays.sort(order, bestFirst.thenComparing(root.maximizingPlayer ? byScore.reversed() : byScore));
+        final var ordered = Arrays.stream(order).map(rootMoves::get).collect(toList());
+        rootMoves.clear();
+        rootMoves.addAll(ordered);
+    }
+
+    /**
+     * Task which searches a single node. It returns {@link Double#NaN} when it has been stopped because the window of
+     * its ancestors has closed or the search has been cancelled.
+     */
+    @SuppressWarnings("serial")
+    private final class Node extends RecursiveTask<Double> {
+        private final Search search;
+        private final Node parent;
+        private final int index;
+        private final Board<?> parentBoard;
+        private final Move move;
+        private final int depth;
+        private List<Move> moves;
+        private Board<?> board;
+        private boolean maximizingPlayer;
+        private double best;
+        private int bestChild;
+        private double[] scores;
+        private volatile double alpha;
+        private volatile double beta;
+
+        private Node(final Search search,
+                     final Node parent,
+                     final int index,
+                     final Board<?> parentBoard,
+                     final Move move,
+                     final int depth,
+                     final List<Move> moves) {
+            this.search = search;
+            this.parent = parent;
+            this.index = index;
+            this.parentBoard = parentBoard;
+            this.move = move;
+            this.depth = depth;
+            this.moves = moves;
+            this.alpha = -Double.MAX_VALUE;
+            this.beta = Double.MAX_VALUE;
+        }
+
+        @Override
+        protected Double compute() {
+            final var value = searchNode();
+            if (this.parent != null && !Double.isNaN(value)) {
+                this.parent.record(this.index, value);
+            }
+            return value;
+        }
+
+        private double searchNode() {
+            if (this.parent != null && this.parent.isWindowClosed()) {
+                return Double.NaN;
+            }
+            this.board = this.move == null ? this.parentBoard : this.parentBoard.executeMove(this.move);
+            if (this.depth <= 0 || this.board.isGameOver()) {
+                return evaluator.evaluate(this.board);
+            }
+            if (this.moves == null) {
+                this.moves = this.board.distinctLegalMoves().collect(toList());
+            }
+            if (this.moves.isEmpty()) {
+                return evaluator.evaluate(this.board);
+            }
+            this.maximizingPlayer = isFirstPlayer(this.board);
+            this.best = this.maximizingPlayer ? -Double.MAX_VALUE : Double.MAX_VALUE;
+            if (this.parent == null) {
+                this.scores = new double[this.moves.size()];
+            }
+
+            child(0).compute();
+            if (this.depth < MIN_SPLIT_DEPTH) {
+                for (var i = 1; i < this.moves.size() && !isWindowClosed(); i++) {
+                    child(i).compute();
+                }
+            } else if (this.moves.size() > 1 && !isWindowClosed()) {
+                final var youngerBrothers = new ArrayList<Node>(this.moves.size() - 1);
+                for (var i = 1; i < this.moves.size(); i++) {
+                    youngerBrothers.add(child(i));
+                }
+                invokeAll(youngerBrothers);
+            }
+
+            if (this.search.cancel || (this.parent != null && this.parent.isWindowClosed())) {
+                return Double.NaN;
+            }
+            synchronized (this) {
+                return this.best;
+            }
+        }
+
+        private Node child(final int i) {
+            return new Node(this.search, this, i, this.board, this.moves.get(i), this.depth - 1, null);
+        }
+
+        private synchronized void record(final int child, final double value) {
+            if (this.scores != null) {
+                this.scores[child] = value;
+            }
+            if (this.maximizingPlayer ? value > this.best : value < this.best) {
+                this.best = value;
+                this.bestChild = child;
+            }
+            if (this.maximizingPlayer) {
+                this.alpha = Math.max(this.alpha, value);
+            } else {
+                this.beta = Math.min(this.beta, value);
+            }
+        }
+
+        /**
+         * @return true when the window made of bounds of this node and all its ancestors has closed
+         */
+        private boolean isWindowClosed() {
+            if (this.search.cancel) {
+                return true;
+            }
+            var alpha = -Double.MAX_VALUE;
+            var beta = Double.MAX_VALUE;
+            for (var node = this; node != null; node = node.parent) {
+                alpha = Math.max(alpha, node.alpha);
+                beta = Math.min(beta, node.beta);
+                if (alpha >= beta) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
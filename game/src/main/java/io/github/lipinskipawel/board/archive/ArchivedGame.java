@@ -0,0 +1,100 @@
+package io.github.lipinskipawel.board.archive;
+
+import io.github.lipinskipawel.board.engine.Direction;
+import io.github.lipinskipawel.board.engine.Move;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class is an API.
+ * This class is a view of a single game of the {@link GameArchiveReader}. It keeps only the reference to the mapped
+ * memory and the offset of the game, every method reads the mapped memory directly. Use {@link #moveSize(int)} and
+ * {@link #directionAt(int)} to walk the game without copying it, {@link #moves()} creates {@link Move} objects.
+ */
+public final class ArchivedGame {
+    private static final int MOVE_SIZES_OFFSET = 2 * Short.BYTES;
+    private final ByteBuffer segment;
+    private final int offset;
+    private final int number;
+
+    ArchivedGame(final ByteBuffer segment, final int offset, final int number) {
+        this.segment = segment;
+        this.offset = offset;
+        this.number = number;
+    }
+
+    /**
+     * @return number of this game inside the archive
+     */
+    public int number() {
+        return this.number;
+    }
+
+    /**
+     * @return number of moves of this game
+     */
+    public int numberOfMoves() {
+        return Short.toUnsignedInt(this.segment.getShort(this.offset));
+    }
+
+    /**
+     * @return number of directions of all moves of this game
+     */
+    public int numberOfDirections() {
+        return Short.toUnsignedInt(this.segment.getShort(this.offset + Short.BYTES));
+    }
+
+    /**
+     * @param move index of the move, starting from 0
+     * @return number of directions of the given move
+     * @throws IndexOutOfBoundsException when there is no such move
+     */
+    public int moveSize(final int move) {
+        Objects.checkIndex(move, numberOfMoves());
+        return Short.toUnsignedInt(this.segment.getShort(this.offset + MOVE_SIZES_OFFSET + move * Short.BYTES));
+    }
+
+    /**
+     * @param index of the direction inside the whole game, starting from 0
+     * @return direction at the given index
+     * @throws IndexOutOfBoundsException when there is no such direction
+     */
+    public Direction directionAt(final int index) {
+        Objects.checkIndex(index, numberOfDirections());
+        final var packed = this.segment.getLong(directionsOffset() + index / Move.DIRECTIONS_PER_LONG * Long.BYTES);
+        return Move.unpack(packed, index);
+    }
+
+    /**
+     * @return moves of the game in order, created on every call
+     */
+    public List<Move> moves() {
+        final var numberOfMoves = numberOfMoves();
+        final var moves = new ArrayList<Move>(numberOfMoves);
+        var direction = 0;
+        for (var move = 0; move < numberOfMoves; move++) {
+            final var size = moveSize(move);
+            final var directions = new ArrayList<Direction>(size);
+            for (var i = 0; i < size; i++) {
+                directions.add(directionAt(direction++));
+            }
+            moves.add(new Move(directions));
+        }
+        return moves;
+    }
+
+    private int directionsOffset() {
+        return this.offset + MOVE_SIZES_OFFSET + numberOfMoves() * Short.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedGame{" +
+            "number=" + number +
+            ", moves=" + moves() +
+            '}';
+    }
+}
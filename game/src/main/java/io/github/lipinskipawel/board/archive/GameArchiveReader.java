@@ -0,0 +1,160 @@
+package io.github.lipinskipawel.board.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.github.lipinskipawel.board.archive.GameArchiveWriter.DATA_FILE;
+import static io.github.lipinskipawel.board.archive.GameArchiveWriter.DATA_MAGIC;
+import static io.github.lipinskipawel.board.archive.GameArchiveWriter.HEADER_SIZE;
+import static io.github.lipinskipawel.board.archive.GameArchiveWriter.INDEX_FILE;
+import static io.github.lipinskipawel.board.archive.GameArchiveWriter.INDEX_MAGIC;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * This class is an API.
+ * This class reads games from the archive written by the {@link GameArchiveWriter}. Both files of the archive are
+ * memory-mapped when the reader is opened and games are read straight from the mapped memory, see {@link ArchivedGame}.
+ * The reader sees games which have been flushed before it has been opened.
+ * <p>
+ * The data file is mapped in segments of at most {@link Integer#MAX_VALUE} bytes which always end at the boundary of
+ * games, so the archive is not limited by the size of a single mapping.
+ * <p>
+ * This class is thread-safe. Mapped memory is only read by absolute reads, so any number of threads can read games,
+ * for example by the parallel stream from {@link #games(int, int)} which splits the range into disjoint sub-ranges.
+ */
+public final class GameArchiveReader {
+    private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+    private final ByteBuffer index;
+    private final int numberOfGames;
+    private final ByteBuffer[] segments;
+    private final long[] segmentOffsets;
+    private final int[] segmentFirstGames;
+
+    private GameArchiveReader(final ByteBuffer index,
+                              final int numberOfGames,
+                              final ByteBuffer[] segments,
+                              final long[] segmentOffsets,
+                              final int[] segmentFirstGames) {
+        this.index = index;
+        this.numberOfGames = numberOfGames;
+        this.segments = segments;
+        this.segmentOffsets = segmentOffsets;
+        this.segmentFirstGames = segmentFirstGames;
+    }
+
+    /**
+     * @param directory of the archive
+     * @return reader of all games flushed to the archive
+     * @throws IOException when files of the archive can not be read or they are not valid
+     */
+    public static GameArchiveReader open(final Path directory) throws IOException {
+        try (var data = FileChannel.open(directory.resolve(DATA_FILE), READ);
+             var indexFile = FileChannel.open(directory.resolve(INDEX_FILE), READ)) {
+            GameArchiveWriter.checkHeader(data, DATA_MAGIC);
+            GameArchiveWriter.checkHeader(indexFile, INDEX_MAGIC);
+            final var games = (indexFile.size() - HEADER_SIZE) / Long.BYTES;
+            if (HEADER_SIZE + games * Long.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Archive has too many games to be read: " + games);
+            }
+            final var numberOfGames = (int) games;
+            final var index = indexFile
+                .map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, numberOfGames * (long) Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+            final var segments = new ArrayList<ByteBuffer>();
+            final var offsets = new ArrayList<Long>();
+            final var firstGames = new ArrayList<Integer>();
+            var segmentOffset = (long) HEADER_SIZE;
+            var segmentFirstGame = 0;
+            var previousEnd = (long) HEADER_SIZE;
+            for (var game = 0; game < numberOfGames; game++) {
+                final var end = index.getLong(game * Long.BYTES);
+                if (end < previousEnd || end > data.size()) {
+                    throw new IOException("Index of the archive is corrupted at game " + game);
+                }
+                if (end - segmentOffset > MAX_SEGMENT_SIZE) {
+                    segments.add(map(data, segmentOffset, previousEnd));
+                    offsets.add(segmentOffset);
+                    firstGames.add(segmentFirstGame);
+                    segmentOffset = previousEnd;
+                    segmentFirstGame = game;
+                }
+                previousEnd = end;
+            }
+            segments.add(map(data, segmentOffset, previousEnd));
+            offsets.add(segmentOffset);
+            firstGames.add(segmentFirstGame);
+            return new GameArchiveReader(
+                index,
+                numberOfGames,
+                segments.toArray(new ByteBuffer[0]),
+                offsets.stream().mapToLong(Long::longValue).toArray(),
+                firstGames.stream().mapToInt(Integer::intValue).toArray()
+            );
+        }
+    }
+
+    private static ByteBuffer map(final FileChannel data, final long from, final long to) throws IOException {
+        return data.map(FileChannel.MapMode.READ_ONLY, from, to - from).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return number of games in the archive
+     */
+    public int numberOfGames() {
+        return this.numberOfGames;
+    }
+
+    /**
+     * This method jumps straight to the given game by the index, no other game is read.
+     *
+     * @param game number of the game, starting from 0
+     * @return view of the game
+     * @throws IndexOutOfBoundsException when there is no such game
+     */
+    public ArchivedGame game(final int game) {
+        Objects.checkIndex(game, this.numberOfGames);
+        var segment = Arrays.binarySearch(this.segmentFirstGames, game);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        final var start = game == 0 ? HEADER_SIZE : this.index.getLong((game - 1) * Long.BYTES);
+        return new ArchivedGame(this.segments[segment], (int) (start - this.segmentOffsets[segment]), game);
+    }
+
+    /**
+     * @return sequential stream of all games in order
+     */
+    public Stream<ArchivedGame> games() {
+        return games(0, this.numberOfGames);
+    }
+
+    /**
+     * The returned stream can be turned into the parallel one, then every thread reads its own sub-range of games.
+     *
+     * @param from number of the first game, inclusive
+     * @param to   number of the last game, exclusive
+     * @return sequential stream of games in the given range in order
+     * @throws IndexOutOfBoundsException when the range is not inside the archive
+     */
+    public Stream<ArchivedGame> games(final int from, final int to) {
+        Objects.checkFromToIndex(from, to, this.numberOfGames);
+        return IntStream.range(from, to).mapToObj(this::game);
+    }
+
+    @Override
+    public String toString() {
+        return "GameArchiveReader{" +
+            "numberOfGames=" + numberOfGames +
+            ", segments=" + segments.length +
+            '}';
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.lipinskipawel.board.archive;
+
+import io.github.lipinskipawel.board.engine.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * This class is an API.
+ * This class appends games to the archive kept in the given directory. The archive consists of two append-only files,
+ * {@link #DATA_FILE} with games and {@link #INDEX_FILE} with the offset of the end of every game. Games are buffered
+ * and written on {@link #flush()} and {@link #close()}, the data is always written before the index, so a game becomes
+ * visible to readers only after it has been fully written. Games written after the last index entry, for example when
+ * the process has crashed, are discarded when the archive is opened again.
+ * <p>
+ * All numbers are little-endian. Both files start with a header of {@link #HEADER_SIZE} bytes:
+ * <pre>
+ * int   magic, {@link #DATA_MAGIC} or {@link #INDEX_MAGIC}
+ * int   version {@link #VERSION}
+ * 8 reserved bytes
+ * </pre>
+ * The header of the index file is followed by one long for every game, the offset in the data file right after the
+ * game. The first game starts right after the header of the data file, every next game starts where the previous one
+ * ends. Every game is laid out as follows:
+ * <pre>
+ * short   number of moves
+ * short   number of directions
+ * shorts  number of directions of every move
+ * longs   all directions of the game packed by {@link Move#pack(long, int, io.github.lipinskipawel.board.engine.Direction)}
+ * </pre>
+ * This class is not thread-safe.
+ */
+public final class GameArchiveWriter implements Closeable {
+    public static final String DATA_FILE = "games.data";
+    public static final String INDEX_FILE = "games.index";
+    public static final int DATA_MAGIC = 0x41474746;
+    public static final int INDEX_MAGIC = 0x49474746;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    private static final int MAX_DIRECTIONS = 0xFFFF;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final FileChannel data;
+    private final FileChannel index;
+    private ByteBuffer dataBuffer;
+    private final ByteBuffer indexBuffer;
+    private long dataSize;
+    private long numberOfGames;
+
+    private GameArchiveWriter(final FileChannel data, final FileChannel index, final long dataSize, final long numberOfGames) {
+        this.data = data;
+        this.index = index;
+        this.dataBuffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.indexBuffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.dataSize = dataSize;
+        this.numberOfGames = numberOfGames;
+    }
+
+    /**
+     * This method opens the archive in the given directory and creates it when it does not exist yet.
+     *
+     * @param directory of the archive
+     * @return writer appending games at the end of the archive
+     * @throws IOException when files of the archive can not be opened or they are not valid
+     */
+    public static GameArchiveWriter open(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final var data = FileChannel.open(directory.resolve(DATA_FILE), CREATE, READ, WRITE);
+        try {
+            final var index = FileChannel.open(directory.resolve(INDEX_FILE), CREATE, READ, WRITE);
+            try {
+                return open(data, index);
+            } catch (IOException | RuntimeException e) {
+                index.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    private static GameArchiveWriter open(final FileChannel data, final FileChannel index) throws IOException {
+        if (index.size() == 0) {
+            writeHeader(data, DATA_MAGIC);
+            writeHeader(index, INDEX_MAGIC);
+            data.truncate(HEADER_SIZE);
+            return new GameArchiveWriter(data, index, HEADER_SIZE, 0);
+        }
+        checkHeader(data, DATA_MAGIC);
+        checkHeader(index, INDEX_MAGIC);
+        final var numberOfGames = (index.size() - HEADER_SIZE) / Long.BYTES;
+        final var dataSize = numberOfGames == 0 ? HEADER_SIZE : readLong(index, HEADER_SIZE + (numberOfGames - 1) * Long.BYTES);
+        if (dataSize < HEADER_SIZE || dataSize > data.size()) {
+            throw new IOException("Index of the archive points outside of the data file");
+        }
+        index.truncate(HEADER_SIZE + numberOfGames * Long.BYTES);
+        data.truncate(dataSize);
+        return new GameArchiveWriter(data, index, dataSize, numberOfGames);
+    }
+
+    /**
+     * @param game moves of the game in order
+     * @return number of the appended game, starting from 0
+     * @throws IOException              when buffered games can not be written
+     * @throws IllegalArgumentException when the game has more than 65535 moves or directions
+     */
+    public long append(final List<Move> game) throws IOException {
+        if (game.size() > MAX_DIRECTIONS) {
+            throw new IllegalArgumentException("Game has " + game.size() + " moves, at most " + MAX_DIRECTIONS + " are allowed");
+        }
+        var numberOfDirections = 0;
+        for (var move : game) {
+            numberOfDirections += move.size();
+        }
+        if (numberOfDirections > MAX_DIRECTIONS) {
+            throw new IllegalArgumentException("Game has " + numberOfDirections + " directions, at most " + MAX_DIRECTIONS + " are allowed");
+        }
+        final var size = recordSize(game.size(), numberOfDirections);
+        if (this.dataBuffer.remaining() < size) {
+            flushBuffers();
+            if (this.dataBuffer.capacity() < size) {
+                this.dataBuffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        if (this.indexBuffer.remaining() < Long.BYTES) {
+            flushBuffers();
+        }
+        writeGame(game, numberOfDirections);
+        this.dataSize += size;
+        this.indexBuffer.putLong(this.dataSize);
+        return this.numberOfGames++;
+    }
+
+    /**
+     * @return number of games in the archive including buffered ones
+     */
+    public long numberOfGames() {
+        return this.numberOfGames;
+    }
+
+    /**
+     * This method writes buffered games and forces them to the storage. Readers opened after this method has returned
+     * see all appended games.
+     *
+     * @throws IOException when games can not be written
+     */
+    public void flush() throws IOException {
+        flushBuffers();
+        this.index.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (this.data; this.index) {
+            flush();
+        }
+    }
+
+    static int recordSize(final int numberOfMoves, final int numberOfDirections) {
+        return 2 * Short.BYTES
+            + numberOfMoves * Short.BYTES
+            + Move.longsFor(numberOfDirections) * Long.BYTES;
+    }
+
+    private void writeGame(final List<Move> game, final int numberOfDirections) {
+        this.dataBuffer.putShort((short) game.size());
+        this.dataBuffer.putShort((short) numberOfDirections);
+        for (var move : game) {
+            this.dataBuffer.putShort((short) move.size());
+        }
+        var packed = 0L;
+        var index = 0;
+        for (var move : game) {
+            for (var i = 0; i < move.size(); i++) {
+                packed = Move.pack(packed, index, move.directionAt(i));
+                if (++index % Move.DIRECTIONS_PER_LONG == 0) {
+                    this.dataBuffer.putLong(packed);
+                    packed = 0L;
+                }
+            }
+        }
+        if (index % Move.DIRECTIONS_PER_LONG != 0) {
+            this.dataBuffer.putLong(packed);
+        }
+    }
+
+    private void flushBuffers() throws IOException {
+        writeFully(this.data, this.dataBuffer.flip());
+        this.data.force(false);
+        writeFully(this.index, this.indexBuffer.flip());
+        this.dataBuffer.clear();
+        this.indexBuffer.clear();
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        var position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void writeHeader(final FileChannel channel, final int magic) throws IOException {
+        final var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(magic)
+            .putInt(VERSION);
+        header.clear();
+        channel.truncate(0);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    static void checkHeader(final FileChannel channel, final int magic) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Archive file is too short to contain the header");
+        }
+        final var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Archive file is too short to contain the header");
+            }
+        }
+        if (header.getInt(0) != magic) {
+            throw new IOException("Archive file does not start with the magic " + Integer.toHexString(magic));
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version of the archive: " + header.getInt(4));
+        }
+    }
+
+    private static long readLong(final FileChannel channel, final long position) throws IOException {
+        final var buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the archive file");
+            }
+        }
+        return buffer.getLong(0);
+    }
+}
@@ -0,0 +1,520 @@
+package io.github.lipinskipawel.board.engine;
+
+import io.github.lipinskipawel.board.engine.exception.ChangePlayerIsNotAllowed;
+import io.github.lipinskipawel.board.internal.NoOpLogger;
+import io.github.lipinskipawel.board.spi.Logger;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This is the {@link Board} implementation which keeps the pitch as the bitboard. Every {@link Direction} has its own
+ * mask of 117 bits (two longs) where the set bit means that the ball is still allowed to move from the given point in
+ * that direction. The layout of masks is the same as in the bitboards from the ai module:
+ * <pre>
+ * indexes [0,1] -> represents direction S for 117 points
+ * indexes [2,3] -> represents direction SW for 117 points
+ * and so on, following the {@link Direction#ordinal()}
+ * </pre>
+ * Executing the move copies only 16 longs instead of the whole list of {@link Point}s.
+ * <p>
+ * Every board created by a move keeps the reference to the board it has been created from, so {@link #undo()} returns
+ * that board without any computation or allocation. Boards are never mutated, hence the same board can be read and
+ * undone by many threads at once. Only boards restored without their ancestors, for example by the
+ * {@link BoardCodec}, compute the undone position from masks.
+ *
+ * @param <T> player
+ */
+final class BitBoard<T> implements Board<T> {
+    static final int NUMBER_OF_POINTS = 117;
+    static final int LONGS_PER_DIRECTION = 2;
+    static final int NUMBER_OF_LONGS = 8 * LONGS_PER_DIRECTION;
+    static final int STARTING_BALL_POSITION = 58;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] SHIFT = shifts();
+    private static final long[] INITIAL_EDGES = computeInitialEdges();
+    private final Logger logger;
+    private final long[] edges;
+    private final int ballPosition;
+    private final PlayerProvider<T> playerProvider;
+    private final MoveHistory moveLog;
+
+    /**
+     * Board before the last direction or null when it is not known.
+     */
+    private final BitBoard<T> parent;
+
+    /**
+     * Zobrist key of edges and the ball, see {@link Zobrist}.
+     */
+    private final long edgesKey;
+
+    BitBoard(final PlayerProvider<T> provider) {
+        this(provider, new NoOpLogger());
+    }
+
+    BitBoard(final PlayerProvider<T> provider, final Logger logger) {
+        this.edges = initialEdges();
+        this.ballPosition = STARTING_BALL_POSITION;
+        this.playerProvider = provider.copy();
+        this.moveLog = new MoveHistory();
+        this.logger = logger;
+        this.edgesKey = Zobrist.ball(STARTING_BALL_POSITION);
+        this.parent = null;
+    }
+
+    private BitBoard(final long[] edges,
+                     final int ballPosition,
+                     final PlayerProvider<T> provider,
+                     final MoveHistory moveHistory,
+                     final long edgesKey,
+                     final BitBoard<T> parent,
+                     final Logger logger) {
+        this.edges = edges;
+        this.ballPosition = ballPosition;
+        this.playerProvider = provider;
+        this.moveLog = moveHistory;
+        this.edgesKey = edgesKey;
+        this.parent = parent;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates the board out of the already computed state, the key is computed from scratch.
+     *
+     * @param edges        masks which become owned by the created board
+     * @param ballPosition position of the ball
+     * @param provider     player provider which becomes owned by the created board
+     * @param moveHistory  history of the board
+     * @param <T>          type of the players
+     * @return board
+     */
+    static <T> BitBoard<T> of(final long[] edges,
+                              final int ballPosition,
+                              final PlayerProvider<T> provider,
+                              final MoveHistory moveHistory) {
+        return new BitBoard<>(edges, ballPosition, provider, moveHistory, Zobrist.of(edges, ballPosition), null, new NoOpLogger());
+    }
+
+    @Override
+    public List<Direction> allMoves() {
+        return this.moveLog.allDirections();
+    }
+
+    @Override
+    public List<Move> moveHistory() {
+        return this.moveLog.allMoves();
+    }
+
+    @Override
+    public boolean isMoveAllowed(final Direction destination) {
+        return isOpen(this.edges, this.ballPosition, destination.ordinal());
+    }
+
+    @Override
+    public BitBoard<T> executeMove(final Direction destination) {
+        if (!isMoveAllowed(destination)) {
+            logger.debug("Move has NOT been made: " + destination);
+            return this;
+        }
+        logger.trace("executeMove: " + destination);
+        final var afterMove = this.edges.clone();
+        final var newBallPosition = this.ballPosition + SHIFT[destination.ordinal()];
+        final var opposite = destination.opposite().ordinal();
+        var key = this.edgesKey
+            ^ Zobrist.ball(this.ballPosition)
+            ^ Zobrist.ball(newBallPosition)
+            ^ Zobrist.halfEdge(this.ballPosition, destination.ordinal());
+        if (isOpen(afterMove, newBallPosition, opposite)) {
+            key ^= Zobrist.halfEdge(newBallPosition, opposite);
+        }
+        close(afterMove, this.ballPosition, destination.ordinal());
+        close(afterMove, newBallPosition, opposite);
+
+        final var isOtherPlayerToMove = isOtherPlayerToMove(afterMove, newBallPosition);
+        final var moveLogg = isOtherPlayerToMove
+            ? this.moveLog.addMove(new Move(List.of(destination)))
+            : this.moveLog.add(destination);
+        final var providedPlayer = isOtherPlayerToMove
+            ? this.playerProvider.copy().swap()
+            : this.playerProvider.copy();
+
+        logger.debug("Move has been made: " + destination);
+        return new BitBoard<>(afterMove, newBallPosition, providedPlayer, moveLogg, key, this, logger);
+    }
+
+    @Override
+    public Board<T> executeMove(final Move move) {
+        if (move.size() == 1) {
+            return executeMove(move.directionAt(0));
+        }
+        return executeMoves(List.of(move));
+    }
+
+    /**
+     * Plays all directions of all moves in a single pass on one copy of masks and creates only the final board. Not
+     * allowed directions are skipped in the same way as {@link #executeMove(Direction)} skips them. The created board
+     * does not keep intermediate boards, so its {@link #undo()} computes the position before the last direction.
+     *
+     * @param moves to play in order
+     * @return board after all moves or this reference when no direction has been played
+     */
+    BitBoard<T> executeMoves(final Iterable<Move> moves) {
+        final var played = new PlayedDirections(Move.DIRECTIONS_PER_LONG);
+        final var afterMove = this.edges.clone();
+        var position = this.ballPosition;
+        var key = this.edgesKey;
+        for (var move : moves) {
+            for (var i = 0; i < move.size(); i++) {
+                final var direction = move.directionAt(i).ordinal();
+                if (!isOpen(afterMove, position, direction)) {
+                    logger.debug("Move has NOT been made: " + DIRECTIONS[direction]);
+                    continue;
+                }
+                final var newPosition = position + SHIFT[direction];
+                final var opposite = (direction + 4) & 7;
+                key ^= Zobrist.ball(position) ^ Zobrist.ball(newPosition) ^ Zobrist.halfEdge(position, direction);
+                if (isOpen(afterMove, newPosition, opposite)) {
+                    key ^= Zobrist.halfEdge(newPosition, opposite);
+                }
+                close(afterMove, position, direction);
+                close(afterMove, newPosition, opposite);
+                position = newPosition;
+                played.add(direction, isOtherPlayerToMove(afterMove, position));
+            }
+        }
+        if (played.size() == 0) {
+            return this;
+        }
+        final var providedPlayer = played.isOtherPlayerToMove()
+            ? this.playerProvider.copy().swap()
+            : this.playerProvider.copy();
+        logger.debug("Moves have been made, played directions: " + played.size());
+        return new BitBoard<>(afterMove, position, providedPlayer, played.appendTo(this.moveLog), key, null, logger);
+    }
+
+    @Override
+    public BitBoard<T> undo() {
+        logger.trace("undo executes");
+        final var lastDirection = this.moveLog
+            .getLastDirection()
+            .orElseThrow(() -> new RuntimeException("There is no move to undo"));
+        if (this.parent != null) {
+            return this.parent;
+        }
+        final var afterUndo = this.edges.clone();
+        final var previousBallPosition = this.ballPosition - SHIFT[lastDirection.ordinal()];
+        final var opposite = lastDirection.opposite().ordinal();
+        var key = this.edgesKey ^ Zobrist.ball(this.ballPosition) ^ Zobrist.ball(previousBallPosition);
+        if (isOpen(INITIAL_EDGES, this.ballPosition, opposite)) {
+            key ^= Zobrist.halfEdge(this.ballPosition, opposite);
+            open(afterUndo, this.ballPosition, opposite);
+        }
+        key ^= Zobrist.halfEdge(previousBallPosition, lastDirection.ordinal());
+        open(afterUndo, previousBallPosition, lastDirection.ordinal());
+        final var moveLogg = this.moveLog.forceUndo();
+        final var providedPlayer = computePlayer(moveLogg.currentPlayer());
+
+        return new BitBoard<>(afterUndo, previousBallPosition, providedPlayer, moveLogg, key, null, logger);
+    }
+
+    private PlayerProvider<T> computePlayer(final boolean isFirst) {
+        if (isFirst) {
+            if (this.playerProvider.current().equals(this.playerProvider.second())) {
+                return this.playerProvider.copy().swap();
+            }
+        } else {
+            if (this.playerProvider.current().equals(this.playerProvider.first())) {
+                return this.playerProvider.copy().swap();
+            }
+        }
+        return this.playerProvider;
+    }
+
+    @Override
+    public Board<T> undoPlayerMove() {
+        final var another = undo();
+        if (this.playerProvider.current().equals(another.playerProvider.current())) {
+            logger.debug("undoPlayerMove has been made.");
+            return another;
+        } else {
+            logger.debug("undoPlayerMove has returned THIS reference.");
+            return this;
+        }
+    }
+
+    @Override
+    public List<Move> allLegalMoves() {
+        logger.debug("allLegalMoves executed.");
+        final List<Move> result = new ArrayList<>();
+        forEachLegalMove(result::add);
+        logger.debug("allLegalMoves finds: " + result.size() + " moves");
+        return result;
+    }
+
+    @Override
+    public LegalMovesFuture allLegalMovesFuture() {
+        return new LegalMovesFuture(this);
+    }
+
+    @Override
+    public int getBallPosition() {
+        return this.ballPosition;
+    }
+
+    @Override
+    public Point getBallAPI() {
+        return new Point(this.ballPosition, allowedMask(this.edges, this.ballPosition));
+    }
+
+    @Override
+    public int allowedDirectionMask() {
+        return allowedMask(this.edges, this.ballPosition);
+    }
+
+    @Override
+    public int drawnEdgeCount() {
+        return this.moveLog.directionCount();
+    }
+
+    @Override
+    public boolean isGoal() {
+        return isGoal(this.ballPosition);
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return isGoal() || allowedMask(this.edges, this.ballPosition) == 0;
+    }
+
+    @Override
+    public Optional<T> takeTheWinner() {
+        if (!isGameOver())
+            return Optional.empty();
+        if (isGoal() && getBallPosition() < 20) {
+            return Optional.of(this.playerProvider.first());
+        }
+        if (!isGoal() && isGameOver()) {
+            return Optional.of(getPlayer());
+        }
+        return Optional.of(this.playerProvider.second());
+    }
+
+    @Override
+    public Board<T> nextPlayerToMove(final T nextPlayerToMove) throws ChangePlayerIsNotAllowed {
+        if (this.moveLog.isSmallMoveHasBeenMade()) {
+            throw new ChangePlayerIsNotAllowed();
+        }
+        if (nextPlayerToMove.equals(this.playerProvider.current())) {
+            logger.debug(nextPlayerToMove + " is the same as current player to move " +
+                this.playerProvider.current() +
+                ". Returning THIS reference.");
+            return this;
+        }
+        final var providedPlayer = isOtherPlayerToMove(this.edges, this.ballPosition)
+            ? this.playerProvider.copy().swap()
+            : this.playerProvider;
+        logger.debug("nextPlayerToMove returns board with player to move " + providedPlayer.current());
+        return new BitBoard<>(this.edges, this.ballPosition, providedPlayer, this.moveLog, this.edgesKey, this.parent, logger);
+    }
+
+    @Override
+    public long positionKey() {
+        return this.edgesKey ^ Zobrist.side(this.playerProvider);
+    }
+
+    @Override
+    public T getPlayer() {
+        return this.playerProvider.current();
+    }
+
+    @Override
+    public PlayerProvider<T> getPlayerProvider() {
+        return this.playerProvider.copy();
+    }
+
+    /**
+     * Contract of this method is the same as in the {@link LogicalPoints#transform()}.
+     *
+     * @return Array of 1 and 0 in sequence for every point sorted by position in ascending order.
+     */
+    @Override
+    public int[] transform() {
+        final var result = new int[Features.LENGTH];
+        transform(result, 0);
+        return result;
+    }
+
+    @Override
+    public void transform(final int[] target, final int offset) {
+        Features.binary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void transform(final byte[] target, final int offset) {
+        Features.binary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void transform(final ByteBuffer target) {
+        Features.binary(this::maskOf, target);
+    }
+
+    /**
+     * Contract of this method is the same as in the {@link LogicalPoints#nonBinaryTransformation()}.
+     *
+     * @return Array of mapped directions for every point sorted by position in ascending order.
+     */
+    @Override
+    public double[] nonBinaryTransformation() {
+        final var result = new double[Features.LENGTH];
+        nonBinaryTransformation(result, 0);
+        return result;
+    }
+
+    @Override
+    public void nonBinaryTransformation(final double[] target, final int offset) {
+        Features.nonBinary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void nonBinaryTransformation(final float[] target, final int offset) {
+        Features.nonBinary(this::maskOf, target, offset);
+    }
+
+    private int maskOf(final int position) {
+        return allowedMask(this.edges, position);
+    }
+
+    /**
+     * Transformation lists directions in the N, NE, E, SE, S, SW, W, NW order which is the ordinal order rotated by 4.
+     *
+     * @param index of direction inside the transformation
+     * @return ordinal of the direction
+     */
+    private static int transformationOrder(final int index) {
+        return (index + 4) & 7;
+    }
+
+    /**
+     * The same rules as in {@link LogicalPoints#isOtherPlayerToMove()} expressed on the bit masks.
+     */
+    static boolean isOtherPlayerToMove(final long[] edges, final int ballPosition) {
+        final var allowed = Integer.bitCount(allowedMask(edges, ballPosition));
+        return isGoal(ballPosition) || allowed == 7 || allowed == 8 || allowed == 0;
+    }
+
+    /**
+     * @return masks of this board, callers must not modify them
+     */
+    long[] edges() {
+        return this.edges;
+    }
+
+    static boolean isGoal(final int position) {
+        return position == 3 || position == 4 || position == 5
+            || position == 111 || position == 112 || position == 113;
+    }
+
+    static boolean isOpen(final long[] edges, final int position, final int direction) {
+        return (edges[(direction << 1) + (position >>> 6)] & (1L << position)) != 0;
+    }
+
+    static void close(final long[] edges, final int position, final int direction) {
+        edges[(direction << 1) + (position >>> 6)] &= ~(1L << position);
+    }
+
+    static void open(final long[] edges, final int position, final int direction) {
+        edges[(direction << 1) + (position >>> 6)] |= 1L << position;
+    }
+
+    /**
+     * @return mask of available directions where n-th bit represents direction of n-th {@link Direction#ordinal()}
+     */
+    static int allowedMask(final long[] edges, final int position) {
+        final var offset = position >>> 6;
+        final var bit = 1L << position;
+        var mask = 0;
+        for (var direction = 0; direction < 8; direction++) {
+            if ((edges[(direction << 1) + offset] & bit) != 0) {
+                mask |= 1 << direction;
+            }
+        }
+        return mask;
+    }
+
+    static int shift(final int direction) {
+        return SHIFT[direction];
+    }
+
+    static long[] initialEdges() {
+        return INITIAL_EDGES.clone();
+    }
+
+    /**
+     * Builds masks from the result of {@link Transformation#transform()} which lists directions of every point in the
+     * N, NE, E, SE, S, SW, W, NW order.
+     */
+    static long[] edgesOf(final int[] transformation) {
+        final var edges = new long[NUMBER_OF_LONGS];
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            for (var i = 0; i < 8; i++) {
+                if (transformation[position * 8 + i] == 1) {
+                    open(edges, position, transformationOrder(i));
+                }
+            }
+        }
+        return edges;
+    }
+
+    private static long[] computeInitialEdges() {
+        final var edges = new long[NUMBER_OF_LONGS];
+        for (var point : PointUtils.initialPoints()) {
+            for (var direction : DIRECTIONS) {
+                if (point.isAvailable(direction)) {
+                    open(edges, point.getPosition(), direction.ordinal());
+                }
+            }
+        }
+        return edges;
+    }
+
+    private static int[] shifts() {
+        final var shifts = new int[8];
+        for (var direction : DIRECTIONS) {
+            shifts[direction.ordinal()] = direction.changeToInt();
+        }
+        return shifts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BitBoard<?> that = (BitBoard<?>) o;
+        return edgesKey == that.edgesKey &&
+            ballPosition == that.ballPosition &&
+            Arrays.equals(edges, that.edges) &&
+            Objects.equals(playerProvider, that.playerProvider) &&
+            Objects.equals(moveLog, that.moveLog);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(edgesKey, playerProvider, moveLog);
+    }
+
+    @Override
+    public String toString() {
+        return "BitBoard{" +
+            "edges=" + Arrays.toString(edges) +
+            ", ballPosition=" + ballPosition +
+            ", playerProvider=" + playerProvider +
+            ", moveLog=" + moveLog +
+            '}';
+    }
+}
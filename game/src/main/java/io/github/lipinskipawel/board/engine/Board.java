@@ -2,8 +2,15 @@ package io.github.lipinskipawel.board.engine;
 
 import io.github.lipinskipawel.board.engine.exception.ChangePlayerIsNotAllowed;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @param <T> player
@@ -69,6 +76,112 @@ public interface Board<T> extends Transformation {
      */
     LegalMovesFuture allLegalMovesFuture();
 
+    /**
+     * This method is a push-based version of {@link #allLegalMoves()}. Every move is passed to the given action as soon
+     * as it has been found. Nothing is buffered and no thread is involved, the search runs on the caller thread.
+     *
+     * @param action which is called for every legal move
+     */
+    default void forEachLegalMove(final Consumer<? super Move> action) {
+        legalMovesSpliterator().forEachRemaining(action);
+    }
+
+    /**
+     * This method returns {@link Spliterator} which finds legal moves lazily. Every
+     * {@link Spliterator#tryAdvance(Consumer)} continues the search until the next move has been found, so clients can
+     * stop the search at any time just by not asking for more moves.
+     *
+     * @return spliterator over all legal moves for current {@link Player}
+     */
+    default Spliterator<Move> legalMovesSpliterator() {
+        return new LegalMovesSpliterator(this);
+    }
+
+    /**
+     * This method returns sequential {@link Stream} of all legal moves for current {@link Player}. Moves are found
+     * lazily, short-circuiting operations like {@link Stream#findFirst()} or {@link Stream#limit(long)} stop the search.
+     *
+     * @return stream of all legal moves
+     */
+    default Stream<Move> legalMoves() {
+        return StreamSupport.stream(legalMovesSpliterator(), false);
+    }
+
+    /**
+     * This method works the same as {@link #legalMoves()} but returns only one move for every distinct position which
+     * can be reached by the current {@link Player}. Many moves draw the same edges in a different order and end on the
+     * same point, the first move found for such position represents all of them. The whole branch of the search is
+     * skipped as soon as it reaches the already visited position.
+     * <p>
+     * Positions are recognized by {@link #positionKey()}, so clients evaluating only positions, not the way how they
+     * have been reached, can search distinct moves without changing the result.
+     *
+     * @return stream of legal moves leading to distinct positions
+     */
+    default Stream<Move> distinctLegalMoves() {
+        return StreamSupport.stream(new LegalMovesSpliterator(this, true), false);
+    }
+
+    /**
+     * This method returns {@link Flow.Publisher} of all legal moves for current {@link Player}. Every subscriber gets its
+     * own search which finds only as many moves as has been requested by the subscriber and a single move ahead, so the
+     * completion is signalled together with the last move. Moves are delivered on the thread that requested them.
+     *
+     * @return publisher of all legal moves
+     */
+    default Flow.Publisher<Move> legalMovesPublisher() {
+        return new LegalMovesPublisher(this, Runnable::run);
+    }
+
+    /**
+     * This method counts legal moves for current {@link Player} without creating them. When the timeout expires the
+     * counting stops and the result is marked as not complete.
+     *
+     * @param timeout after which the counting will be stopped
+     * @return number of legal moves and statistics of the counting
+     */
+    default PerftResult countLegalMoves(final Duration timeout) {
+        return Perft.count(this, 1, Objects.requireNonNull(timeout));
+    }
+
+    /**
+     * This method counts all sequences of legal moves of the given depth. Depth 1 is the number of legal moves for
+     * current {@link Player}, depth 2 adds all legal answers of the other player and so on. Moves are never created,
+     * the counting runs on the caller thread.
+     *
+     * @param depth number of moves, must be positive
+     * @return number of sequences of legal moves and statistics of the counting
+     */
+    default PerftResult perft(final int depth) {
+        return Perft.count(this, depth, null);
+    }
+
+    /**
+     * This method works the same as {@link #perft(int)} but stops counting after the given timeout. Partial results
+     * are marked as not complete.
+     *
+     * @param depth   number of moves, must be positive
+     * @param timeout after which the counting will be stopped
+     * @return number of sequences of legal moves and statistics of the counting
+     */
+    default PerftResult perft(final int depth, final Duration timeout) {
+        return Perft.count(this, depth, Objects.requireNonNull(timeout));
+    }
+
+    /**
+     * This method works the same as {@link #perft(int, Duration)} but the counting is split into
+     * {@link java.util.concurrent.ForkJoinTask fork-join tasks}. Tasks run on the executor configured through the
+     * {@link Boards} facade when it is a {@link java.util.concurrent.ForkJoinPool}, otherwise on the common pool. This
+     * method blocks until the counting has been finished or stopped.
+     *
+     * @param depth   number of moves, must be positive
+     * @param timeout after which the counting will be stopped
+     * @return number of sequences of legal moves and statistics of the counting
+     */
+    default PerftResult parallelPerft(final int depth, final Duration timeout) {
+        return Perft.countInParallel(this, depth, Objects.requireNonNull(timeout));
+    }
+
     /**
      * @return all Moves made by each {@link Player}
      */
@@ -104,6 +217,43 @@ public interface Board<T> extends Transformation {
      */
     Point getBallAPI();
 
+    /**
+     * This method returns 64-bit Zobrist key of the position. The key depends only on drawn edges, the ball position
+     * and whether the first or the second {@link Player} is to move. Boards reached by different sequences of moves
+     * which end in the same position have the same key, and so do different {@link Board} implementations.
+     * <p>
+     * Different keys always mean different positions. Equal keys mean the same position with very high probability,
+     * so clients using the key as a cache key must accept rare collisions.
+     * <p>
+     * The default implementation computes the key from scratch out of {@link #transform()}. Implementations provided
+     * by {@link Boards} override it and maintain the key by every move and undo.
+     *
+     * @return key of the position
+     */
+    default long positionKey() {
+        return Zobrist.of(this);
+    }
+
+    /**
+     * This method is the primitive version of {@link #getBallAPI()} followed by {@link Point#getAllowedDirection()}.
+     * Use {@link Integer#bitCount(int)} to count allowed directions and {@link Direction#fromMask(int)} to map the mask
+     * into directions.
+     *
+     * @return mask of directions allowed from the ball position where n-th bit represents direction of n-th
+     * {@link Direction#ordinal()}
+     */
+    default int allowedDirectionMask() {
+        return getBallAPI().allowedMask();
+    }
+
+    /**
+     * @return number of edges drawn on the pitch since the beginning of the game, the same as the size of
+     * {@link #allMoves()}
+     */
+    default int drawnEdgeCount() {
+        return allMoves().size();
+    }
+
     /**
      * Goal area is defined by the three inner points. On the board there are
      * two goal area.
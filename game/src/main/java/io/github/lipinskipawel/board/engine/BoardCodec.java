@@ -0,0 +1,349 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is an API.
+ * This class encodes {@link Board} and {@link Move} objects into the compact binary form and decodes them back. It
+ * reads and writes directly from and to the given {@link ByteBuffer} starting at its position, the position is advanced
+ * by the number of bytes read or written. All numbers are big-endian regardless of the order of the buffer.
+ * <p>
+ * The board is encoded as follows:
+ * <pre>
+ * byte     version {@link #VERSION}
+ * byte     flags, bit 0 is set when the second player is to move, bit 1 is set when the history is included
+ * byte     position of the ball
+ * 5 longs  drawn edges, one bit for every edge of the pitch which can be drawn
+ * history, only when included
+ *   int    number of directions
+ *   longs  directions, 21 directions per long, every direction as 3 bits of its {@link Direction#ordinal()}
+ * </pre>
+ * Edges are numbered by going through points from 0 to 116 and through directions N, NE, E and SE of every point,
+ * skipping edges which lay on the border of the pitch. The encoded board without the history takes
+ * {@link #BOARD_WITHOUT_HISTORY_SIZE} bytes.
+ * <p>
+ * The board decoded without the history has an empty history, so it can not be undone. The board decoded with the
+ * history is the same as the board created by playing all its directions from the beginning of the game.
+ * <p>
+ * The move is encoded as the int number of directions followed by directions packed in the same way as the history.
+ */
+public final class BoardCodec {
+    public static final int VERSION = 1;
+    public static final int BOARD_WITHOUT_HISTORY_SIZE;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int FLAG_SECOND_PLAYER = 1;
+    private static final int FLAG_HISTORY = 1 << 1;
+    private static final int FLAGS = FLAG_SECOND_PLAYER | FLAG_HISTORY;
+    static final int NUMBER_OF_EDGES;
+    private static final long[] INITIAL_EDGES = BitBoard.initialEdges();
+    private static final int[] EDGE_POSITIONS;
+    private static final int[] EDGE_DIRECTIONS;
+    private static final int EDGE_LONGS;
+
+    static {
+        final var initial = INITIAL_EDGES;
+        final var positions = new int[BitBoard.NUMBER_OF_POINTS * 4];
+        final var directions = new int[BitBoard.NUMBER_OF_POINTS * 4];
+        var edges = 0;
+        for (var position = 0; position < BitBoard.NUMBER_OF_POINTS; position++) {
+            for (var direction = Direction.N.ordinal(); direction <= Direction.SE.ordinal(); direction++) {
+                final var neighbour = position + BitBoard.shift(direction);
+                if (neighbour < 0 || neighbour >= BitBoard.NUMBER_OF_POINTS) {
+                    continue;
+                }
+                if (BitBoard.isOpen(initial, position, direction) || BitBoard.isOpen(initial, neighbour, opposite(direction))) {
+                    positions[edges] = position;
+                    directions[edges] = direction;
+                    edges++;
+                }
+            }
+        }
+        NUMBER_OF_EDGES = edges;
+        EDGE_POSITIONS = Arrays.copyOf(positions, edges);
+        EDGE_DIRECTIONS = Arrays.copyOf(directions, edges);
+        EDGE_LONGS = (edges + Long.SIZE - 1) / Long.SIZE;
+        BOARD_WITHOUT_HISTORY_SIZE = 3 + EDGE_LONGS * Long.BYTES;
+    }
+
+    private BoardCodec() {
+    }
+
+    /**
+     * @param board          to encode
+     * @param includeHistory whether the history of the board should be encoded
+     * @return number of bytes of the encoded board
+     */
+    public static int encodedSize(final Board<?> board, final boolean includeHistory) {
+        return includeHistory
+            ? BOARD_WITHOUT_HISTORY_SIZE + Integer.BYTES + directionsSize(board.drawnEdgeCount())
+            : BOARD_WITHOUT_HISTORY_SIZE;
+    }
+
+    /**
+     * @param move to encode
+     * @return number of bytes of the encoded move
+     */
+    public static int encodedSize(final Move move) {
+        return Integer.BYTES + directionsSize(move.size());
+    }
+
+    /**
+     * This method writes the board together with its history.
+     *
+     * @param board  to encode
+     * @param target buffer to write into
+     * @throws BufferOverflowException when there is not enough space in the buffer, nothing is written then
+     */
+    public static void encode(final Board<?> board, final ByteBuffer target) {
+        encode(board, target, true);
+    }
+
+    /**
+     * @param board          to encode
+     * @param target         buffer to write into
+     * @param includeHistory whether the history of the board should be encoded
+     * @throws BufferOverflowException when there is not enough space in the buffer, nothing is written then
+     */
+    public static void encode(final Board<?> board, final ByteBuffer target, final boolean includeHistory) {
+        if (target.remaining() < encodedSize(board, includeHistory)) {
+            throw new BufferOverflowException();
+        }
+        final var provider = board.getPlayerProvider();
+        final var isSecondPlayer = !provider.current().equals(provider.first());
+        final var flags = (isSecondPlayer ? FLAG_SECOND_PLAYER : 0) | (includeHistory ? FLAG_HISTORY : 0);
+        target.put((byte) VERSION)
+            .put((byte) flags)
+            .put((byte) board.getBallAPI().getPosition());
+        writeEdges(edgesOf(board), target);
+        if (includeHistory) {
+            writeDirections(board.allMoves(), target);
+        }
+    }
+
+    /**
+     * This method decodes the board with {@link Player} as players.
+     *
+     * @param source buffer to read from
+     * @return decoded board backed by the bitboard
+     * @throws IllegalArgumentException          when the buffer does not contain a valid board
+     * @throws java.nio.BufferUnderflowException when the buffer ends before the end of the board
+     */
+    public static Board<Player> decode(final ByteBuffer source) {
+        return decode(source, Player.FIRST, Player.SECOND);
+    }
+
+    /**
+     * @param source buffer to read from
+     * @param first  player
+     * @param second player
+     * @param <T>    type of the players
+     * @return decoded board backed by the bitboard
+     * @throws IllegalArgumentException          when the buffer does not contain a valid board
+     * @throws java.nio.BufferUnderflowException when the buffer ends before the end of the board
+     */
+    public static <T> Board<T> decode(final ByteBuffer source, final T first, final T second) {
+        final var version = source.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported version of the encoded board: " + version);
+        }
+        final var flags = source.get();
+        if ((flags & ~FLAGS) != 0) {
+            throw new IllegalArgumentException("Unknown flags of the encoded board: " + flags);
+        }
+        final var ballPosition = Byte.toUnsignedInt(source.get());
+        if (ballPosition >= BitBoard.NUMBER_OF_POINTS) {
+            throw new IllegalArgumentException("Ball position out of the pitch: " + ballPosition);
+        }
+        final var edges = readEdges(source);
+        final var moveHistory = (flags & FLAG_HISTORY) != 0
+            ? readHistory(source, edges, ballPosition)
+            : new MoveHistory();
+        final var provider = new PlayerProvider<>(first, second);
+        if ((flags & FLAG_SECOND_PLAYER) != 0) {
+            provider.swap();
+        }
+        return BitBoard.of(edges, ballPosition, provider, moveHistory);
+    }
+
+    /**
+     * @param move   to encode
+     * @param target buffer to write into
+     * @throws BufferOverflowException when there is not enough space in the buffer, nothing is written then
+     */
+    public static void encode(final Move move, final ByteBuffer target) {
+        if (target.remaining() < encodedSize(move)) {
+            throw new BufferOverflowException();
+        }
+        putInt(target, move.size());
+        for (var i = 0; i < Move.longsFor(move.size()); i++) {
+            putLong(target, move.packedAt(i));
+        }
+    }
+
+    /**
+     * @param source buffer to read from
+     * @return decoded move
+     * @throws IllegalArgumentException          when the buffer does not contain a valid move
+     * @throws java.nio.BufferUnderflowException when the buffer ends before the end of the move
+     */
+    public static Move decodeMove(final ByteBuffer source) {
+        final var size = readSize(source);
+        final var packed = new long[Move.longsFor(size)];
+        for (var i = 0; i < packed.length; i++) {
+            packed[i] = getLong(source);
+        }
+        return new Move(packed, size);
+    }
+
+    static long[] edgesOf(final Board<?> board) {
+        if (board instanceof BitBoard) {
+            return ((BitBoard<?>) board).edges();
+        }
+        return BitBoard.edgesOf(board.transform());
+    }
+
+    private static void writeEdges(final long[] edges, final ByteBuffer target) {
+        var bits = 0L;
+        for (var edge = 0; edge < NUMBER_OF_EDGES; edge++) {
+            if (isDrawn(edges, edge)) {
+                bits |= 1L << edge;
+            }
+            if ((edge & (Long.SIZE - 1)) == Long.SIZE - 1 || edge == NUMBER_OF_EDGES - 1) {
+                putLong(target, bits);
+                bits = 0L;
+            }
+        }
+    }
+
+    /**
+     * The edge is drawn when any of its half-edges which is open on the initial pitch has been closed.
+     *
+     * @param edges masks in the {@link BitBoard} layout
+     * @param edge  number of the edge in the order described by this class
+     * @return whether the edge has been drawn
+     */
+    static boolean isDrawn(final long[] edges, final int edge) {
+        final var position = EDGE_POSITIONS[edge];
+        final var direction = EDGE_DIRECTIONS[edge];
+        final var neighbour = position + BitBoard.shift(direction);
+        final var opposite = opposite(direction);
+        return BitBoard.isOpen(INITIAL_EDGES, position, direction) && !BitBoard.isOpen(edges, position, direction)
+            || BitBoard.isOpen(INITIAL_EDGES, neighbour, opposite) && !BitBoard.isOpen(edges, neighbour, opposite);
+    }
+
+    /**
+     * Closes both half-edges of the given edge.
+     *
+     * @param edges masks in the {@link BitBoard} layout
+     * @param edge  number of the edge in the order described by this class
+     */
+    static void draw(final long[] edges, final int edge) {
+        final var position = EDGE_POSITIONS[edge];
+        final var direction = EDGE_DIRECTIONS[edge];
+        BitBoard.close(edges, position, direction);
+        BitBoard.close(edges, position + BitBoard.shift(direction), opposite(direction));
+    }
+
+    private static long[] readEdges(final ByteBuffer source) {
+        final var edges = BitBoard.initialEdges();
+        for (var i = 0; i < EDGE_LONGS; i++) {
+            var bits = getLong(source);
+            while (bits != 0) {
+                final var edge = i * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                if (edge >= NUMBER_OF_EDGES) {
+                    throw new IllegalArgumentException("Unknown edge of the encoded board: " + edge);
+                }
+                draw(edges, edge);
+                bits &= bits - 1;
+            }
+        }
+        return edges;
+    }
+
+    private static void writeDirections(final List<Direction> directions, final ByteBuffer target) {
+        putInt(target, directions.size());
+        var packed = 0L;
+        for (var i = 0; i < directions.size(); i++) {
+            packed = Move.pack(packed, i, directions.get(i));
+            if (i % Move.DIRECTIONS_PER_LONG == Move.DIRECTIONS_PER_LONG - 1 || i == directions.size() - 1) {
+                putLong(target, packed);
+                packed = 0L;
+            }
+        }
+    }
+
+    /**
+     * Replays directions from the beginning of the game in the same way as {@link BitBoard#executeMove(Direction)}
+     * builds the history. The replayed pitch must be the same as the encoded one.
+     */
+    private static MoveHistory readHistory(final ByteBuffer source, final long[] encodedEdges, final int encodedBall) {
+        final var size = readSize(source);
+        final var edges = BitBoard.initialEdges();
+        var ballPosition = BitBoard.STARTING_BALL_POSITION;
+        var moveHistory = new MoveHistory();
+        var packed = 0L;
+        for (var i = 0; i < size; i++) {
+            if (i % Move.DIRECTIONS_PER_LONG == 0) {
+                packed = getLong(source);
+            }
+            final var direction = Move.unpack(packed, i).ordinal();
+            if (!BitBoard.isOpen(edges, ballPosition, direction)) {
+                throw new IllegalArgumentException("Direction " + i + " of the encoded history is not allowed");
+            }
+            final var newBallPosition = ballPosition + BitBoard.shift(direction);
+            BitBoard.close(edges, ballPosition, direction);
+            BitBoard.close(edges, newBallPosition, opposite(direction));
+            ballPosition = newBallPosition;
+            final var played = DIRECTIONS[direction];
+            moveHistory = BitBoard.isOtherPlayerToMove(edges, ballPosition)
+                ? moveHistory.addMove(new Move(List.of(played)))
+                : moveHistory.add(played);
+        }
+        if (ballPosition != encodedBall || !Arrays.equals(edges, encodedEdges)) {
+            throw new IllegalArgumentException("Encoded history does not lead to the encoded pitch");
+        }
+        return moveHistory;
+    }
+
+    private static int readSize(final ByteBuffer source) {
+        final var size = getInt(source);
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative number of directions: " + size);
+        }
+        return size;
+    }
+
+    private static int directionsSize(final int numberOfDirections) {
+        return Move.longsFor(numberOfDirections) * Long.BYTES;
+    }
+
+    private static int opposite(final int direction) {
+        return (direction + 4) & 7;
+    }
+
+    private static boolean isBigEndian(final ByteBuffer buffer) {
+        return buffer.order() == ByteOrder.BIG_ENDIAN;
+    }
+
+    private static void putInt(final ByteBuffer target, final int value) {
+        target.putInt(isBigEndian(target) ? value : Integer.reverseBytes(value));
+    }
+
+    private static void putLong(final ByteBuffer target, final long value) {
+        target.putLong(isBigEndian(target) ? value : Long.reverseBytes(value));
+    }
+
+    private static int getInt(final ByteBuffer source) {
+        final var value = source.getInt();
+        return isBigEndian(source) ? value : Integer.reverseBytes(value);
+    }
+
+    private static long getLong(final ByteBuffer source) {
+        final var value = source.getLong();
+        return isBigEndian(source) ? value : Long.reverseBytes(value);
+    }
+}
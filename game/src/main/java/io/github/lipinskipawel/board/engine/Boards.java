@@ -3,12 +3,23 @@ package io.github.lipinskipawel.board.engine;
 import io.github.lipinskipawel.board.internal.NoOpLogger;
 import io.github.lipinskipawel.board.spi.Logger;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
 /**
  * This class is a facade for the {@link Board} API. It is expected to create {@link Board} implementations using this
  * facade.
  */
 public class Boards {
 
+    /**
+     * Number of entries written by every {@link Board} in transformations, 8 directions for each of 117 points.
+     */
+    public static final int TRANSFORMATION_LENGTH = Features.LENGTH;
+
     /**
      * This method will create an immutable {@link Board} object without logging capabilities.
      *
@@ -59,4 +70,215 @@ public class Boards {
     public static <T> Board<T> immutableBoardWithCustomPlayer(final T first, final T second, final Logger logger) {
         return new ImmutableBoard<>(new PlayerProvider<>(first, second), logger);
     }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard without logging capabilities.
+     *
+     * <p>The bitboard implementation follows the same contract as {@link #immutableBoard()} while keeping the pitch
+     * as direction masks, which makes every move much cheaper in both CPU and memory.
+     *
+     * @return board object
+     */
+    public static Board<Player> bitBoard() {
+        return bitBoard(new NoOpLogger());
+    }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard with logging capabilities.
+     *
+     * @param logger logger to use
+     * @return board object
+     */
+    public static Board<Player> bitBoard(final Logger logger) {
+        return new BitBoard<>(new PlayerProvider<>(Player.FIRST, Player.SECOND), logger);
+    }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard and parametrized by player
+     * object.
+     *
+     * @param first  player
+     * @param second player
+     * @param <T>    type of the players
+     * @return board object
+     */
+    public static <T> Board<T> bitBoardWithCustomPlayer(final T first, final T second) {
+        return bitBoardWithCustomPlayer(first, second, new NoOpLogger());
+    }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard and parametrized by player
+     * object.
+     *
+     * @param first  player
+     * @param second player
+     * @param logger logger to use
+     * @param <T>    type of the players
+     * @return board object
+     */
+    public static <T> Board<T> bitBoardWithCustomPlayer(final T first, final T second, final Logger logger) {
+        return new BitBoard<>(new PlayerProvider<>(first, second), logger);
+    }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard after all given moves have been
+     * played from the beginning of the game. Moves are played in a single pass on one copy of the pitch and only the
+     * final board is created, which is much cheaper than calling {@link Board#executeMove(Move)} for every move. Not
+     * allowed directions are skipped in the same way as {@link Board#executeMove(Direction)} skips them.
+     *
+     * @param game moves in order
+     * @return board object
+     */
+    public static Board<Player> replay(final Iterable<Move> game) {
+        return new BitBoard<>(new PlayerProvider<>(Player.FIRST, Player.SECOND), new NoOpLogger()).executeMoves(game);
+    }
+
+    /**
+     * This method will create a {@link MutableBoard} object starting from the state of the given board.
+     *
+     * <p>The given board is not modified. {@link MutableBoard#freeze()} executes all made directions on the given
+     * board, so the frozen board has the same implementation and logger as the given one.
+     *
+     * @param board starting state
+     * @param <T>   type of the players
+     * @return mutable board object
+     */
+    public static <T> MutableBoard<T> mutableBoard(final Board<T> board) {
+        return new MutableBitBoard<>(board);
+    }
+
+    /**
+     * This method formats the position of the given board as the single line of text, for example the starting
+     * position is {@code AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 58 1}. The notation consists of drawn
+     * edges encoded in the base64url alphabet, the ball position and the player to move. The history of the board is
+     * not a part of the notation.
+     *
+     * @param board to format
+     * @return notation of the position
+     */
+    public static String positionNotation(final Board<?> board) {
+        return PositionNotation.format(board);
+    }
+
+    /**
+     * This method will create an immutable {@link Board} object backed by the bitboard in the position given by
+     * {@link #positionNotation(Board)}. The created board has an empty history.
+     *
+     * @param notation of the position
+     * @return board object
+     * @throws IllegalArgumentException when the notation is not valid
+     */
+    public static Board<Player> fromPositionNotation(final CharSequence notation) {
+        return PositionNotation.parse(notation, Player.FIRST, Player.SECOND);
+    }
+
+    /**
+     * The same as {@link #fromPositionNotation(CharSequence)} but parametrized by player object.
+     *
+     * @param notation of the position
+     * @param first    player
+     * @param second   player
+     * @param <T>      type of the players
+     * @return board object
+     * @throws IllegalArgumentException when the notation is not valid
+     */
+    public static <T> Board<T> fromPositionNotation(final CharSequence notation, final T first, final T second) {
+        return PositionNotation.parse(notation, first, second);
+    }
+
+    /**
+     * This method will make every {@link LegalMovesFuture} created afterwards run its computation on the daemon thread
+     * pool shared by the whole JVM. This is the default mode.
+     */
+    public static void useSharedLegalMovesPool() {
+        LegalMovesScheduler.useSharedPool();
+    }
+
+    /**
+     * This method will make every {@link LegalMovesFuture} created afterwards run its computation on the given
+     * executor. The executor is owned by the caller, this library will never shut it down. Timeouts are still handled
+     * by the single daemon thread of this library.
+     *
+     * @param executor to run computations on
+     */
+    public static void useLegalMovesExecutor(final Executor executor) {
+        LegalMovesScheduler.useExecutor(executor);
+    }
+
+    /**
+     * This method will make every {@link LegalMovesFuture} created afterwards run its computation on the thread calling
+     * {@link LegalMovesFuture#start(java.time.Duration)}. In this mode the start method returns after the computation has been
+     * finished, cancelled or timed out.
+     */
+    public static void useCallerThreadForLegalMoves() {
+        LegalMovesScheduler.useCallerThread();
+    }
+
+    /**
+     * This method writes {@link Board#transform()} of all given boards one after another into the given array. Board
+     * at index i starts at {@code offset + i * TRANSFORMATION_LENGTH}.
+     *
+     * @param boards to transform
+     * @param target array with at least {@code boards.size() * TRANSFORMATION_LENGTH} entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    public static void transformAll(final List<? extends Board<?>> boards, final int[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, batchLength(boards), target.length);
+        for (var i = 0; i < boards.size(); i++) {
+            boards.get(i).transform(target, offset + i * TRANSFORMATION_LENGTH);
+        }
+    }
+
+    /**
+     * The same as {@link #transformAll(List, int[], int)} but entries are written as bytes.
+     *
+     * @param boards to transform
+     * @param target array with at least {@code boards.size() * TRANSFORMATION_LENGTH} entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    public static void transformAll(final List<? extends Board<?>> boards, final byte[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, batchLength(boards), target.length);
+        for (var i = 0; i < boards.size(); i++) {
+            boards.get(i).transform(target, offset + i * TRANSFORMATION_LENGTH);
+        }
+    }
+
+    /**
+     * The same as {@link #transformAll(List, byte[], int)} but entries are put into the buffer starting from its
+     * position. The position is advanced by {@code boards.size() * TRANSFORMATION_LENGTH}.
+     *
+     * @param boards to transform
+     * @param target buffer with enough remaining bytes for all boards
+     * @throws BufferOverflowException when the buffer is too small, nothing is written then
+     */
+    public static void transformAll(final List<? extends Board<?>> boards, final ByteBuffer target) {
+        if (target.remaining() < batchLength(boards)) {
+            throw new BufferOverflowException();
+        }
+        for (var board : boards) {
+            board.transform(target);
+        }
+    }
+
+    /**
+     * This method writes {@link Board#nonBinaryTransformation()} of all given boards one after another into the given
+     * array as floats. Board at index i starts at {@code offset + i * TRANSFORMATION_LENGTH}.
+     *
+     * @param boards to transform
+     * @param target array with at least {@code boards.size() * TRANSFORMATION_LENGTH} entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    public static void nonBinaryTransformAll(final List<? extends Board<?>> boards, final float[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, batchLength(boards), target.length);
+        for (var i = 0; i < boards.size(); i++) {
+            boards.get(i).nonBinaryTransformation(target, offset + i * TRANSFORMATION_LENGTH);
+        }
+    }
+
+    private static int batchLength(final List<? extends Board<?>> boards) {
+        return Math.multiplyExact(boards.size(), TRANSFORMATION_LENGTH);
+    }
 }
@@ -1,6 +1,8 @@
 package io.github.lipinskipawel.board.engine;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Binary compatibility of this enum will change in the future.
@@ -97,6 +99,8 @@ public enum Direction implements Serializable {
         }
     };
 
+    private static final List<List<Direction>> DIRECTIONS_BY_MASK = directionsByMask();
+
     @Override
     public String toString() {
         return this.name();
@@ -105,4 +109,37 @@ public enum Direction implements Serializable {
     public abstract Direction opposite();
 
     public abstract int changeToInt();
+
+    /**
+     * @return mask with the single bit of this direction, the n-th bit for the n-th {@link #ordinal()}
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * This method maps masks returned by {@link Board#allowedDirectionMask()} and {@link Point#allowedMask()} into
+     * directions. Lists are precomputed for every mask, so this method does not allocate.
+     *
+     * @param mask where the n-th bit represents direction of the n-th {@link #ordinal()}, only 8 lower bits are used
+     * @return unmodifiable list of directions of the given mask in the {@link #ordinal()} order
+     */
+    public static List<Direction> fromMask(final int mask) {
+        return DIRECTIONS_BY_MASK.get(mask & 0xFF);
+    }
+
+    private static List<List<Direction>> directionsByMask() {
+        final var directions = values();
+        final var result = new ArrayList<List<Direction>>(256);
+        for (var mask = 0; mask < 256; mask++) {
+            final var directionsOfMask = new ArrayList<Direction>();
+            for (var direction : directions) {
+                if ((mask & direction.bit()) != 0) {
+                    directionsOfMask.add(direction);
+                }
+            }
+            result.add(List.copyOf(directionsOfMask));
+        }
+        return List.copyOf(result);
+    }
 }
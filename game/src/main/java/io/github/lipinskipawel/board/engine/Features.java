@@ -0,0 +1,94 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * This class writes results of the {@link Transformation} into arrays and buffers supplied by the caller.
+ * <p>
+ * Every point takes 8 entries in the N, NE, E, SE, S, SW, W, NW order. Entries of all 256 masks of available
+ * directions are precomputed in that order, so writing a point is a single copy of 8 entries from the table instead of
+ * checking every direction.
+ */
+final class Features {
+    static final int NUMBER_OF_POINTS = 117;
+    static final int LENGTH = NUMBER_OF_POINTS * 8;
+    private static final int NUMBER_OF_MASKS = 256;
+    private static final byte[] BYTES = new byte[NUMBER_OF_MASKS * 8];
+    private static final int[] INTS = new int[NUMBER_OF_MASKS * 8];
+    private static final float[] FLOATS = new float[NUMBER_OF_MASKS * 8];
+    private static final double[] DOUBLES = new double[NUMBER_OF_MASKS * 8];
+    private static final double NOT_AVAILABLE = 0.9;
+    private static final double[] NON_BINARY = new double[]{0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8};
+
+    static {
+        for (var mask = 0; mask < NUMBER_OF_MASKS; mask++) {
+            for (var i = 0; i < 8; i++) {
+                final var isAvailable = (mask & (1 << transformationOrder(i))) != 0;
+                final var index = mask * 8 + i;
+                BYTES[index] = (byte) (isAvailable ? 1 : 0);
+                INTS[index] = isAvailable ? 1 : 0;
+                DOUBLES[index] = isAvailable ? NON_BINARY[i] : NOT_AVAILABLE;
+                FLOATS[index] = (float) DOUBLES[index];
+            }
+        }
+    }
+
+    private Features() {
+    }
+
+    /**
+     * @param masks  gives mask of available directions for the position, where n-th bit represents direction of n-th
+     *               {@link Direction#ordinal()}
+     * @param target array to write 936 entries into
+     * @param offset index of the first entry
+     */
+    static void binary(final IntUnaryOperator masks, final int[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, LENGTH, target.length);
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            System.arraycopy(INTS, masks.applyAsInt(position) * 8, target, offset + position * 8, 8);
+        }
+    }
+
+    static void binary(final IntUnaryOperator masks, final byte[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, LENGTH, target.length);
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            System.arraycopy(BYTES, masks.applyAsInt(position) * 8, target, offset + position * 8, 8);
+        }
+    }
+
+    static void binary(final IntUnaryOperator masks, final ByteBuffer target) {
+        if (target.remaining() < LENGTH) {
+            throw new BufferOverflowException();
+        }
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            target.put(BYTES, masks.applyAsInt(position) * 8, 8);
+        }
+    }
+
+    static void nonBinary(final IntUnaryOperator masks, final float[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, LENGTH, target.length);
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            System.arraycopy(FLOATS, masks.applyAsInt(position) * 8, target, offset + position * 8, 8);
+        }
+    }
+
+    static void nonBinary(final IntUnaryOperator masks, final double[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, LENGTH, target.length);
+        for (var position = 0; position < NUMBER_OF_POINTS; position++) {
+            System.arraycopy(DOUBLES, masks.applyAsInt(position) * 8, target, offset + position * 8, 8);
+        }
+    }
+
+    /**
+     * Transformation lists directions in the N, NE, E, SE, S, SW, W, NW order which is the ordinal order rotated by 4.
+     *
+     * @param index of direction inside the transformation
+     * @return ordinal of the direction
+     */
+    private static int transformationOrder(final int index) {
+        return (index + 4) & 7;
+    }
+}
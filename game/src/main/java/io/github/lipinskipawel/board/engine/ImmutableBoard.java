@@ -4,7 +4,7 @@ import io.github.lipinskipawel.board.engine.exception.ChangePlayerIsNotAllowed;
 import io.github.lipinskipawel.board.internal.NoOpLogger;
 import io.github.lipinskipawel.board.spi.Logger;
 
-import java.time.Duration;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -16,6 +16,12 @@ final class ImmutableBoard<T> implements Board<T> {
     private final PlayerProvider<T> playerProvider;
     private final MoveHistory moveLog;
 
+    /**
+     * Board before the last direction or null when there is no such board. The {@link #undo()} returns it directly,
+     * so undoing neither computes nor allocates anything.
+     */
+    private final ImmutableBoard<T> parent;
+
     ImmutableBoard(PlayerProvider<T> provider) {
         this(provider, new NoOpLogger());
     }
@@ -24,16 +30,19 @@ final class ImmutableBoard<T> implements Board<T> {
         this.points = new LogicalPoints();
         this.playerProvider = provider.copy();
         this.moveLog = new MoveHistory();
+        this.parent = null;
         this.logger = logger;
     }
 
     private ImmutableBoard(final LogicalPoints points,
                            final PlayerProvider<T> provider,
                            final MoveHistory moveHistory,
+                           final ImmutableBoard<T> parent,
                            final Logger logger) {
         this.points = points;
         this.playerProvider = provider;
         this.moveLog = moveHistory;
+        this.parent = parent;
         this.logger = logger;
     }
 
@@ -62,7 +71,7 @@ final class ImmutableBoard<T> implements Board<T> {
             final var providedPlayer = computePlayerProvider(player);
 
             logger.debug("Move has been made: " + destination);
-            return new ImmutableBoard<>(logicalPoints, providedPlayer, moveLogg, logger);
+            return new ImmutableBoard<>(logicalPoints, providedPlayer, moveLogg, this, logger);
         } else {
             logger.debug("Move has NOT been made: " + destination);
             return this;
@@ -76,13 +85,29 @@ final class ImmutableBoard<T> implements Board<T> {
         return this.playerProvider.copy();
     }
 
+    /**
+     * Plays all directions of the move in a single pass and creates only the final board. The created board does not
+     * keep intermediate boards, so its {@link #undo()} computes the position before the last direction.
+     *
+     * @param move to play
+     * @return board after the move
+     */
     @Override
     public Board<T> executeMove(final Move move) {
-        var afterMove = new ImmutableBoard<>(this.points, this.playerProvider, this.moveLog, this.logger);
-        for (var dir : move.getMove()) {
-            afterMove = afterMove.executeMove(dir);
+        if (move.size() == 1) {
+            return executeMove(move.directionAt(0));
+        }
+        final var played = new PlayedDirections(move.size());
+        final var logicalPoints = this.points.makeMoves(move, played);
+        if (played.size() == 0) {
+            logger.debug("Move has NOT been made: " + move);
+            return this;
         }
-        return afterMove;
+        final var providedPlayer = played.isOtherPlayerToMove()
+            ? this.playerProvider.copy().swap()
+            : this.playerProvider.copy();
+        logger.debug("Move has been made: " + move);
+        return new ImmutableBoard<>(logicalPoints, providedPlayer, played.appendTo(this.moveLog), null, logger);
     }
 
     @Override
@@ -96,16 +121,15 @@ final class ImmutableBoard<T> implements Board<T> {
         final var lastDirection = this.moveLog
             .getLastDirection()
             .orElseThrow(() -> new RuntimeException("There is no move to undo"));
+        if (this.parent != null) {
+            return this.parent;
+        }
         final var logicalPoints = this.points.undoMove(lastDirection);
         final var moveLogg = this.moveLog.forceUndo();
         final var isFirst = moveLogg.currentPlayer();
         final var providedPlayer = computePlayer(isFirst);
 
-        final var newImmutableBoard = new ImmutableBoard<T>(logicalPoints, providedPlayer, moveLogg, logger);
-        if (this.equals(newImmutableBoard)) {
-            logger.debug("undo returned THIS reference.");
-        }
-        return newImmutableBoard;
+        return new ImmutableBoard<T>(logicalPoints, providedPlayer, moveLogg, null, logger);
     }
 
     private PlayerProvider<T> computePlayer(final boolean isFirst) {
@@ -123,7 +147,7 @@ final class ImmutableBoard<T> implements Board<T> {
 
     @Override
     public Board<T> undoPlayerMove() {
-        final var another = new ImmutableBoard<>(this.points, this.playerProvider.copy(), this.moveLog, this.logger).undo();
+        final var another = undo();
         if (this.playerProvider.current().equals(another.playerProvider.current())) {
             logger.debug("undoPlayerMove has been made.");
             return another;
@@ -136,13 +160,8 @@ final class ImmutableBoard<T> implements Board<T> {
     @Override
     public List<Move> allLegalMoves() {
         logger.debug("allLegalMoves executed.");
-        final var legalMovesFuture = new LegalMovesFuture(this);
-        legalMovesFuture.start(Duration.ofSeconds(Integer.MAX_VALUE));
         final List<Move> result = new ArrayList<>();
-        while (legalMovesFuture.isRunning()) {
-            result.addAll(legalMovesFuture.partialResult());
-        }
-        result.addAll(legalMovesFuture.partialResult());
+        forEachLegalMove(result::add);
         logger.debug("allLegalMoves finds: " + result.size() + " moves");
         return result;
     }
@@ -157,14 +176,24 @@ final class ImmutableBoard<T> implements Board<T> {
         return this.points.getBall();
     }
 
+    @Override
+    public int allowedDirectionMask() {
+        return this.points.ballMask();
+    }
+
+    @Override
+    public int drawnEdgeCount() {
+        return this.moveLog.directionCount();
+    }
+
     @Override
     public boolean isGoal() {
-        return this.points.getBall().isOnTop() || this.points.getBall().isOnBottom();
+        return this.points.isBallInGoal();
     }
 
     @Override
     public boolean isGameOver() {
-        return isGoal() || points.getBall().getUnavailableDirection().size() == 8;
+        return isGoal() || allowedDirectionMask() == 0;
     }
 
     @Override
@@ -196,7 +225,12 @@ final class ImmutableBoard<T> implements Board<T> {
             ? this.playerProvider
             : this.playerProvider.copy().swap();
         logger.debug("nextPlayerToMove returns board with player to move " + providedPlayer.current());
-        return new ImmutableBoard<>(this.points, providedPlayer, this.moveLog, logger);
+        return new ImmutableBoard<>(this.points, providedPlayer, this.moveLog, this.parent, logger);
+    }
+
+    @Override
+    public long positionKey() {
+        return this.points.key() ^ Zobrist.side(this.playerProvider);
     }
 
     @Override
@@ -219,6 +253,31 @@ final class ImmutableBoard<T> implements Board<T> {
         return this.points.nonBinaryTransformation();
     }
 
+    @Override
+    public void transform(final int[] target, final int offset) {
+        this.points.transform(target, offset);
+    }
+
+    @Override
+    public void transform(final byte[] target, final int offset) {
+        this.points.transform(target, offset);
+    }
+
+    @Override
+    public void transform(final ByteBuffer target) {
+        this.points.transform(target);
+    }
+
+    @Override
+    public void nonBinaryTransformation(final double[] target, final int offset) {
+        this.points.nonBinaryTransformation(target, offset);
+    }
+
+    @Override
+    public void nonBinaryTransformation(final float[] target, final int offset) {
+        this.points.nonBinaryTransformation(target, offset);
+    }
+
     private T computePlayerToMove(final LogicalPoints logicalPoints) {
         var player = this.playerProvider.current();
 
@@ -234,7 +293,8 @@ final class ImmutableBoard<T> implements Board<T> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ImmutableBoard<?> that = (ImmutableBoard<?>) o;
-        return Objects.equals(points, that.points) &&
+        return points.key() == that.points.key() &&
+            Objects.equals(points, that.points) &&
             Objects.equals(playerProvider, that.playerProvider) &&
             Objects.equals(moveLog, that.moveLog);
     }
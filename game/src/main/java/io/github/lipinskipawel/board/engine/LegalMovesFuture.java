@@ -2,16 +2,16 @@ package io.github.lipinskipawel.board.engine;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -53,7 +53,15 @@ public final class LegalMovesFuture {
 
     private final Object lock;
 
-    private final ExecutorService pool;
+    private final Executor executor;
+
+    private volatile ScheduledFuture<?> timeoutTask;
+
+    /**
+     * Mirror of {@link #isCancel} read by the parallel search on every step, so that workers do not contend on the
+     * {@link #lock}. Storing moves is still guarded by the lock.
+     */
+    private volatile boolean isStopRequested;
 
     /**
      * This field controls whether the computation should be canceled.
@@ -70,8 +78,7 @@ public final class LegalMovesFuture {
         this.isStarted = new AtomicBoolean(false);
         this.isCancel = false;
         this.lock = new Object();
-        this.pool = Executors.newFixedThreadPool(2);
-        Runtime.getRuntime().addShutdownHook(new Thread(this::cancel));
+        this.executor = LegalMovesScheduler.executor();
     }
 
     /**
@@ -79,7 +86,9 @@ public final class LegalMovesFuture {
      * <p>
      * This method is CPU bounded. Calling this method will start the task of finding all possible moves.
      * Calling this method multiple times will have no effect other than ensuring that the computation is already
-     * started. Calling this method is non-blocking, since it will start the computation is separate thread pool.
+     * started. The computation runs on the executor configured through the {@link Boards} facade. By default, calling
+     * this method is non-blocking since the computation is started on the shared thread pool. When the caller thread
+     * mode is configured then this method returns after the computation has been finished.
      * Client can check the status of a job by {@link #isRunning()} method.
      * Client can access results by {@link #partialResult()} method.
      * Client can cancel computation in any time by {@link #cancel()} method.
@@ -88,15 +97,39 @@ public final class LegalMovesFuture {
      */
     public void start(final Duration timeout) {
         if (this.isStarted.compareAndSet(false, true)) {
-            final Future<?> submit = this.pool.submit(this::startComputation);
-            this.pool.submit(() -> {
-                try {
-                    submit.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
-                } catch (InterruptedException | ExecutionException | TimeoutException ignored) {
-                } finally {
-                    this.cancel();
-                }
-            });
+            this.timeoutTask = LegalMovesScheduler.scheduleTimeout(this::cancel, timeout);
+            try {
+                this.executor.execute(this::startComputation);
+            } catch (RejectedExecutionException e) {
+                this.cancel();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * This method is a part of the API.
+     * <p>
+     * This method works the same as {@link #start(Duration)} but the computation is split into
+     * {@link java.util.concurrent.ForkJoinTask fork-join tasks}. Idle workers steal parts of the search from busy ones,
+     * which speeds up positions with a large number of moves. Every task collects found moves in its own buffer and
+     * hands them over in batches. The timeout and {@link #cancel()} work the same as for {@link #start(Duration)}.
+     * <p>
+     * Tasks run on the executor configured through the {@link Boards} facade when it is a {@link ForkJoinPool},
+     * otherwise on the {@link ForkJoinPool#commonPool()}. In the caller thread mode nothing is forked, the whole search
+     * runs on the caller thread and this method returns after the computation has been finished. Calling this method or
+     * {@link #start(Duration)} multiple times has no effect other than ensuring that the computation is already started.
+     *
+     * @param timeout after which the task will be stopped
+     */
+    public void startParallel(final Duration timeout) {
+        if (this.isStarted.compareAndSet(false, true)) {
+            this.timeoutTask = LegalMovesScheduler.scheduleTimeout(this::cancel, timeout);
+            if (LegalMovesScheduler.isCallerThread(this.executor)) {
+                new ParallelSearch(this.board, false).invoke();
+            } else {
+                LegalMovesScheduler.forkJoinPool(this.executor).execute(new ParallelSearch(this.board, true));
+            }
         }
     }
 
@@ -141,7 +174,11 @@ public final class LegalMovesFuture {
         synchronized (this.lock) {
             this.isCancel = true;
         }
-        this.pool.shutdownNow();
+        this.isStopRequested = true;
+        final var timeout = this.timeoutTask;
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
     }
 
     /**
@@ -156,9 +193,10 @@ public final class LegalMovesFuture {
     }
 
     private void startComputation() {
-        findAllMovesIteratively(this.board);
-        synchronized (this.lock) {
-            this.isCancel = true;
+        try {
+            findAllMovesIteratively(this.board);
+        } finally {
+            this.cancel();
         }
     }
 
@@ -195,10 +233,10 @@ public final class LegalMovesFuture {
 
         while (!canStopComputation() && !currentLevels.isEmpty()) {
             var level = currentLevels.pop();
-            for (var move : level.board.getBallAPI().getAllowedDirection()) {
+            for (var move : Direction.fromMask(level.board.allowedDirectionMask())) {
                 final var afterMove = level.board.executeMove(move);
 
-                if (isItEnd(afterMove.getBallAPI())) {
+                if (isItEnd(afterMove.allowedDirectionMask())) {
                     this.allMoves.add(new Move(level.push(move)));
                     if (canStopComputation()) {
                         break;
@@ -211,13 +249,127 @@ public final class LegalMovesFuture {
         }
     }
 
+    /**
+     * Stores moves found by one of the parallel tasks unless the computation has already been cancelled.
+     */
+    private void storeMoves(final List<Move> moves) {
+        synchronized (this.lock) {
+            if (!this.isCancel) {
+                this.allMoves.addAll(moves);
+            }
+        }
+        moves.clear();
+    }
+
+    /**
+     * Depth-first search over the masks of the {@link BitBoard}. Every task owns its masks and makes and unmakes
+     * directions in place. While other workers are starving for work, the task forks its unfinished branches as new
+     * tasks instead of searching them by itself. The root task completes only after all forked tasks have completed.
+     * <p>
+     * Outside of a fork-join worker there is no surplus of tasks to check and every fork goes to the
+     * {@link ForkJoinPool#commonPool()}, so the root task invoked on the caller thread does not fork at all.
+     */
+    @SuppressWarnings("serial")
+    private final class ParallelSearch extends RecursiveAction {
+        private static final int SURPLUS_OF_TASKS = 2;
+        private static final int BATCH_SIZE = 256;
+        private final long[] edges;
+        private final int ballPosition;
+        private final boolean isRoot;
+        private final boolean canFork;
+        private byte[] path;
+        private final int startingDepth;
+        private final List<Move> found;
+        private final List<ParallelSearch> forked;
+
+        private ParallelSearch(final Board<?> board, final boolean canFork) {
+            this(BitBoard.edgesOf(board.transform()), board.getBallAPI().getPosition(), new byte[64], 0, true, canFork);
+        }
+
+        private ParallelSearch(final long[] edges,
+                               final int ballPosition,
+                               final byte[] path,
+                               final int startingDepth,
+                               final boolean isRoot,
+                               final boolean canFork) {
+            this.edges = edges;
+            this.ballPosition = ballPosition;
+            this.path = path;
+            this.startingDepth = startingDepth;
+            this.isRoot = isRoot;
+            this.canFork = canFork;
+            this.found = new ArrayList<>();
+            this.forked = new ArrayList<>();
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                search(this.ballPosition, this.startingDepth);
+                storeMoves(this.found);
+                for (var task : this.forked) {
+                    task.join();
+                }
+            } finally {
+                if (this.isRoot) {
+                    LegalMovesFuture.this.cancel();
+                }
+            }
+        }
+
+        private void search(final int ballPosition, final int depth) {
+            if (depth == this.path.length) {
+                this.path = Arrays.copyOf(this.path, depth * 2);
+            }
+            for (var direction = 0; direction < 8 && !isStopRequested; direction++) {
+                if (!BitBoard.isOpen(this.edges, ballPosition, direction)) {
+                    continue;
+                }
+                final var newBallPosition = ballPosition + BitBoard.shift(direction);
+                final var opposite = (direction + 4) & 7;
+                final var isOppositeOpen = BitBoard.isOpen(this.edges, newBallPosition, opposite);
+                BitBoard.close(this.edges, ballPosition, direction);
+                if (isOppositeOpen) {
+                    BitBoard.close(this.edges, newBallPosition, opposite);
+                }
+                this.path[depth] = (byte) direction;
+
+                final var allowed = Integer.bitCount(BitBoard.allowedMask(this.edges, newBallPosition));
+                if (allowed == 7 || allowed == 0) {
+                    found(depth + 1);
+                } else if (this.canFork && getSurplusQueuedTaskCount() < SURPLUS_OF_TASKS) {
+                    final var task = new ParallelSearch(
+                        this.edges.clone(), newBallPosition, Arrays.copyOf(this.path, depth + 1), depth + 1, false, true
+                    );
+                    task.fork();
+                    this.forked.add(task);
+                } else {
+                    search(newBallPosition, depth + 1);
+                }
+
+                BitBoard.open(this.edges, ballPosition, direction);
+                if (isOppositeOpen) {
+                    BitBoard.open(this.edges, newBallPosition, opposite);
+                }
+            }
+        }
+
+        private void found(final int length) {
+            this.found.add(new Move(this.path, length));
+            if (this.found.size() == BATCH_SIZE) {
+                storeMoves(this.found);
+            }
+        }
+    }
+
     private boolean canStopComputation() {
         synchronized (this.lock) {
             return this.isCancel;
         }
     }
 
-    private boolean isItEnd(final Point ball) {
-        return ball.getAllowedDirection().size() == 7 || ball.getAllowedDirection().size() == 0;
+    private boolean isItEnd(final int allowedDirectionMask) {
+        final var allowed = Integer.bitCount(allowedDirectionMask);
+        return allowed == 7 || allowed == 0;
     }
 }
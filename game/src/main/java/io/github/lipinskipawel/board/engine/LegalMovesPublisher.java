@@ -0,0 +1,138 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class publishes all legal moves of the given {@link Board}. Every subscriber gets its own search which is driven
+ * by the demand signalled through {@link Flow.Subscription#request(long)}. The search is suspended whenever the demand
+ * has been satisfied. Only a single move is found ahead, so {@link Flow.Subscriber#onComplete()} is signalled as soon as
+ * the last move has been delivered, without waiting for more demand.
+ * <p>
+ * Moves are delivered by the given {@link Executor}. Signals to a single subscriber are never concurrent.
+ */
+final class LegalMovesPublisher implements Flow.Publisher<Move> {
+    private final Board<?> board;
+    private final Executor executor;
+
+    LegalMovesPublisher(final Board<?> board, final Executor executor) {
+        this.board = board;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Move> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new LegalMovesSubscription(subscriber));
+    }
+
+    private final class LegalMovesSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Move> subscriber;
+        private final AtomicLong demand;
+
+        /**
+         * Number of signals received while draining. Only the thread which increments it from zero drains the search.
+         */
+        private final AtomicInteger workInProgress;
+        private volatile boolean isCancel;
+        private volatile Throwable invalidRequest;
+        private LegalMovesSpliterator moves;
+        private Move next;
+
+        private LegalMovesSubscription(final Flow.Subscriber<? super Move> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.workInProgress = new AtomicInteger();
+            this.isCancel = false;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                this.invalidRequest = new IllegalArgumentException("Demand must be positive but was " + n);
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> {
+                    final var sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.isCancel = true;
+        }
+
+        private void schedule() {
+            if (this.workInProgress.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            var missed = 1;
+            do {
+                if (drain()) {
+                    return;
+                }
+                missed = this.workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * @return true when the subscription has been terminated
+         */
+        private boolean drain() {
+            if (this.isCancel) {
+                return true;
+            }
+            if (this.invalidRequest != null) {
+                this.isCancel = true;
+                this.subscriber.onError(this.invalidRequest);
+                return true;
+            }
+            if (this.moves == null) {
+                this.moves = new LegalMovesSpliterator(board);
+            }
+            final var requested = this.demand.get();
+            var emitted = 0L;
+            while (emitted != requested) {
+                if (this.isCancel) {
+                    return true;
+                }
+                if (!findNext()) {
+                    return complete();
+                }
+                final var move = this.next;
+                this.next = null;
+                this.subscriber.onNext(move);
+                emitted++;
+            }
+            if (requested != Long.MAX_VALUE) {
+                this.demand.addAndGet(-emitted);
+            }
+            if (!this.isCancel && !findNext()) {
+                return complete();
+            }
+            return this.isCancel;
+        }
+
+        /**
+         * @return true when there is the next move to deliver
+         */
+        private boolean findNext() {
+            return this.next != null || this.moves.tryAdvance(move -> this.next = move);
+        }
+
+        private boolean complete() {
+            this.isCancel = true;
+            this.subscriber.onComplete();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class decides where computations of {@link LegalMovesFuture} are run. It is configured through the
+ * {@link Boards} facade and applies to every {@link LegalMovesFuture} created after the change.
+ * <p>
+ * There are three modes:
+ * - shared pool, the default one. Computations run on a daemon pool shared by the whole JVM
+ * - caller-supplied {@link Executor}. The library never shuts down executors it does not own
+ * - caller thread. {@link LegalMovesFuture#start(Duration)} blocks until the computation has been finished
+ * <p>
+ * Timeouts of all modes are handled by the single daemon thread, no matter how many computations are running.
+ */
+final class LegalMovesScheduler {
+    private static final Executor CALLER_THREAD = Runnable::run;
+    private static final ScheduledThreadPoolExecutor TIMEOUTS = timeouts();
+    private static volatile Executor executor;
+
+    private LegalMovesScheduler() {
+    }
+
+    static Executor executor() {
+        final var configured = executor;
+        return configured != null ? configured : SharedPool.POOL;
+    }
+
+    /**
+     * @return given executor when it is a {@link ForkJoinPool}, otherwise the {@link ForkJoinPool#commonPool()}
+     */
+    static ForkJoinPool forkJoinPool(final Executor executor) {
+        return executor instanceof ForkJoinPool ? (ForkJoinPool) executor : ForkJoinPool.commonPool();
+    }
+
+    static boolean isCallerThread(final Executor executor) {
+        return executor == CALLER_THREAD;
+    }
+
+    static void useSharedPool() {
+        executor = null;
+    }
+
+    static void useExecutor(final Executor customExecutor) {
+        executor = Objects.requireNonNull(customExecutor);
+    }
+
+    static void useCallerThread() {
+        executor = CALLER_THREAD;
+    }
+
+    static ScheduledFuture<?> scheduleTimeout(final Runnable onTimeout, final Duration timeout) {
+        return TIMEOUTS.schedule(onTimeout, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor timeouts() {
+        final var timeouts = new ScheduledThreadPoolExecutor(1, daemonThreads("legal-moves-timeout-"));
+        timeouts.setRemoveOnCancelPolicy(true);
+        return timeouts;
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix) {
+        final var counter = new AtomicInteger();
+        return runnable -> {
+            final var thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The shared pool is created lazily, clients which provide their own executor never start its threads.
+     */
+    private static final class SharedPool {
+        private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            daemonThreads("legal-moves-")
+        );
+    }
+}
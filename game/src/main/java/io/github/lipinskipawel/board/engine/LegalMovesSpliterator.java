@@ -0,0 +1,149 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * This class finds all legal moves of the given {@link Board} on demand. It is the same depth-first search as in the
+ * {@link LegalMovesFuture} written as a resumable state machine, so every {@link #tryAdvance(Consumer)} continues the
+ * search exactly where the previous call found a move.
+ * <p>
+ * The search makes and unmakes directions on a single {@link MutableBitBoard}, hence it does not allocate anything
+ * other than found moves. This class is not thread safe.
+ * <p>
+ * In the distinct mode the search remembers {@link MutableBoard#positionKey() keys} of all positions visited during the
+ * turn, including positions in the middle of the move. Reaching the already visited position means that all moves
+ * going through it have already been found, so the whole branch is skipped. As a result only the first move leading to
+ * every distinct position is returned, in the same order as in the normal mode.
+ */
+final class LegalMovesSpliterator extends Spliterators.AbstractSpliterator<Move> {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int NUMBER_OF_DIRECTIONS = 8;
+    private final MutableBitBoard<?> board;
+    private final VisitedPositions visited;
+    private int[] nextDirection;
+    private byte[] path;
+    private int depth;
+
+    LegalMovesSpliterator(final Board<?> board) {
+        this(board, false);
+    }
+
+    LegalMovesSpliterator(final Board<?> board, final boolean distinct) {
+        super(Long.MAX_VALUE, Spliterator.DISTINCT | Spliterator.NONNULL);
+        this.board = new MutableBitBoard<>(board);
+        this.visited = distinct ? new VisitedPositions() : null;
+        this.nextDirection = new int[64];
+        this.path = new byte[64];
+        this.depth = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Move> action) {
+        while (this.depth >= 0) {
+            if (this.nextDirection[this.depth] == NUMBER_OF_DIRECTIONS) {
+                this.depth--;
+                if (this.depth >= 0) {
+                    this.board.unmake();
+                }
+                continue;
+            }
+            final var direction = this.nextDirection[this.depth]++;
+            if (!this.board.make(DIRECTIONS[direction])) {
+                continue;
+            }
+            if (this.visited != null && !this.visited.add(this.board.positionKey())) {
+                this.board.unmake();
+                continue;
+            }
+            this.path[this.depth] = (byte) direction;
+            if (isItEnd(this.board.allowedDirectionMask())) {
+                final var move = currentMove();
+                this.board.unmake();
+                action.accept(move);
+                return true;
+            }
+            push();
+        }
+        return false;
+    }
+
+    private void push() {
+        this.depth++;
+        if (this.depth == this.nextDirection.length) {
+            this.nextDirection = Arrays.copyOf(this.nextDirection, this.depth * 2);
+            this.path = Arrays.copyOf(this.path, this.depth * 2);
+        }
+        this.nextDirection[this.depth] = 0;
+    }
+
+    private Move currentMove() {
+        return new Move(this.path, this.depth + 1);
+    }
+
+    private static boolean isItEnd(final int allowedMask) {
+        final var allowed = Integer.bitCount(allowedMask);
+        return allowed == 7 || allowed == 0;
+    }
+
+    /**
+     * Set of position keys with open addressing and linear probing. Zero is used as the empty slot, so the key equal
+     * to zero is kept aside.
+     */
+    private static final class VisitedPositions {
+        private long[] keys;
+        private int size;
+        private boolean containsZero;
+
+        private VisitedPositions() {
+            this.keys = new long[256];
+            this.size = 0;
+            this.containsZero = false;
+        }
+
+        /**
+         * @return true when the key has not been present in the set
+         */
+        private boolean add(final long key) {
+            if (key == 0) {
+                final var isAdded = !this.containsZero;
+                this.containsZero = true;
+                return isAdded;
+            }
+            final var mask = this.keys.length - 1;
+            var index = mix(key) & mask;
+            while (this.keys[index] != 0) {
+                if (this.keys[index] == key) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            this.keys[index] = key;
+            if (++this.size * 2 > this.keys.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            final var old = this.keys;
+            this.keys = new long[old.length * 2];
+            final var mask = this.keys.length - 1;
+            for (var key : old) {
+                if (key != 0) {
+                    var index = mix(key) & mask;
+                    while (this.keys[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    this.keys[index] = key;
+                }
+            }
+        }
+
+        private static int mix(final long key) {
+            return (int) (key ^ (key >>> 32));
+        }
+    }
+}
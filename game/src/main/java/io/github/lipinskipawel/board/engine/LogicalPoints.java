@@ -3,67 +3,163 @@ package io.github.lipinskipawel.board.engine;
 import io.github.lipinskipawel.board.internal.NoOpLogger;
 import io.github.lipinskipawel.board.spi.Logger;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
-import static java.util.Comparator.comparingInt;
-
+/**
+ * Points of the pitch kept as a persistent, path-copied array of chunks.
+ * <p>
+ * Points are never mutated. Every move replaces at most two points, so only the array of chunks and the chunks holding
+ * those points are copied. All remaining chunks are shared with the previous instance.
+ */
 final class LogicalPoints implements Transformation {
     private static final Logger LOGGER = new NoOpLogger();
-    private final List<Point> points;
+    private static final int NUMBER_OF_POINTS = 117;
+    private static final int CHUNK_SIZE = 9;
+    private static final int NUMBER_OF_CHUNKS = NUMBER_OF_POINTS / CHUNK_SIZE;
+    private static final Point[][] INITIAL_POINTS = toChunks(PointUtils.initialPoints());
+    private final Point[][] points;
     private final Point ballPosition;
 
+    /**
+     * Zobrist key of drawn edges and the ball, see {@link Zobrist}.
+     */
+    private final long key;
+
     LogicalPoints() {
-        this.points = PointUtils.initialPoints();
-        this.ballPosition = points.get(58);
+        this.points = INITIAL_POINTS;
+        this.ballPosition = point(points, 58);
+        this.key = Zobrist.ball(58);
     }
 
-    private LogicalPoints(final List<Point> points,
-                          final Point ballPosition) {
+    private LogicalPoints(final Point[][] points,
+                          final int ballPosition,
+                          final long key) {
         this.points = points;
-        this.ballPosition = points.get(ballPosition.getPosition());
+        this.ballPosition = point(points, ballPosition);
+        this.key = key;
     }
 
     LogicalPoints undoMove(final Direction direction) {
         final var newBallPosition = computeBallPosition(direction.opposite());
-        final var fakeNewMovePoints = new ArrayList<>(points);
+        final var afterUndo = this.points.clone();
+        final var previousBall = point(afterUndo, newBallPosition);
+        var afterUndoKey = this.key
+            ^ Zobrist.ball(getBallPosition())
+            ^ Zobrist.ball(newBallPosition)
+            ^ Zobrist.halfEdge(newBallPosition, direction.ordinal());
 
-        final var newPositionPoint = points.get(this.ballPosition.getPosition());
-        newPositionPoint.setAvailableDirections(direction.opposite());
-        fakeNewMovePoints.set(this.ballPosition.getPosition(), newPositionPoint);
-
-        final var originalPositionPoint = fakeNewMovePoints.get(newBallPosition);
-        originalPositionPoint.setAvailableDirections(direction);
-        fakeNewMovePoints.set(newBallPosition, originalPositionPoint);
+        // the opposite direction has been closed by the move only when it is open on the initial pitch, goal points
+        // keep their directions closed
+        if (point(INITIAL_POINTS, getBallPosition()).isAvailable(direction.opposite())) {
+            afterUndoKey ^= Zobrist.halfEdge(getBallPosition(), direction.opposite().ordinal());
+            set(afterUndo, this.ballPosition.availableDirection(direction.opposite()));
+        }
+        set(afterUndo, previousBall.availableDirection(direction));
 
         LOGGER.trace("undoMove has been made");
-        return new LogicalPoints(fakeNewMovePoints, originalPositionPoint);
+        return new LogicalPoints(afterUndo, newBallPosition, afterUndoKey);
     }
 
     LogicalPoints makeAMove(final Direction destination) {
         if (isAvailable(destination)) {
 
             final var newPosition = computeBallPosition(destination);
-            final var currentBall = new Point(points.get(getBallPosition())).notAvailableDirection(destination);
-
-            final var afterMove = new ArrayList<>(points);
-            afterMove.set(getBallPosition(), currentBall);
+            final var afterMove = this.points.clone();
+            final var newBall = point(afterMove, newPosition);
+            var afterMoveKey = this.key
+                ^ Zobrist.ball(getBallPosition())
+                ^ Zobrist.ball(newPosition)
+                ^ Zobrist.halfEdge(getBallPosition(), destination.ordinal());
+            if (newBall.isAvailable(destination.opposite())) {
+                afterMoveKey ^= Zobrist.halfEdge(newPosition, destination.opposite().ordinal());
+            }
 
-            afterMove.set(newPosition, afterMove.get(newPosition).notAvailableDirection(destination.opposite()));
+            set(afterMove, this.ballPosition.notAvailableDirection(destination));
+            set(afterMove, newBall.notAvailableDirection(destination.opposite()));
             LOGGER.trace("makeAMove has been made");
-            return new LogicalPoints(afterMove, afterMove.get(newPosition));
+            return new LogicalPoints(afterMove, newPosition, afterMoveKey);
         }
         LOGGER.trace("makeAMove has NOT been made. Returning this reference.");
         return this;
     }
 
+    /**
+     * Plays all allowed directions of the move on a single copy of the array of chunks. Not allowed directions are
+     * skipped in the same way as {@link #makeAMove(Direction)} skips them.
+     *
+     * @param move   to play
+     * @param played records played directions
+     * @return points after the move or this reference when no direction has been played
+     */
+    LogicalPoints makeMoves(final Move move, final PlayedDirections played) {
+        final var afterMove = this.points.clone();
+        var position = getBallPosition();
+        var afterMoveKey = this.key;
+        final var playedBefore = played.size();
+        for (var i = 0; i < move.size(); i++) {
+            final var destination = move.directionAt(i);
+            final var ball = point(afterMove, position);
+            if (!ball.isAvailable(destination)) {
+                continue;
+            }
+            final var opposite = destination.opposite();
+            final var newPosition = position + destination.changeToInt();
+            final var newBall = point(afterMove, newPosition);
+            afterMoveKey ^= Zobrist.ball(position)
+                ^ Zobrist.ball(newPosition)
+                ^ Zobrist.halfEdge(position, destination.ordinal());
+            if (newBall.isAvailable(opposite)) {
+                afterMoveKey ^= Zobrist.halfEdge(newPosition, opposite.ordinal());
+            }
+            set(afterMove, ball.notAvailableDirection(destination));
+            final var ballAfterMove = newBall.notAvailableDirection(opposite);
+            set(afterMove, ballAfterMove);
+            position = newPosition;
+            played.add(destination.ordinal(), isOtherPlayerToMove(ballAfterMove));
+        }
+        if (played.size() == playedBefore) {
+            LOGGER.trace("makeMoves has NOT played any direction. Returning this reference.");
+            return this;
+        }
+        LOGGER.trace("makeMoves has been made");
+        return new LogicalPoints(afterMove, position, afterMoveKey);
+    }
+
     private int computeBallPosition(final Direction destination) {
         int moveBall = destination.changeToInt();
         return this.ballPosition.getPosition() + moveBall;
     }
 
+    private static Point point(final Point[][] chunks, final int position) {
+        return chunks[position / CHUNK_SIZE][position % CHUNK_SIZE];
+    }
+
+    /**
+     * Replaces point in the given array of chunks. The chunk of the point is copied unless it has already been copied
+     * for that array, so chunks shared with other instances are never written.
+     *
+     * @param chunks copy of the array of chunks owned by the new instance
+     * @param point  to put into its position
+     */
+    private void set(final Point[][] chunks, final Point point) {
+        final var chunkIndex = point.getPosition() / CHUNK_SIZE;
+        if (chunks[chunkIndex] == this.points[chunkIndex]) {
+            chunks[chunkIndex] = chunks[chunkIndex].clone();
+        }
+        chunks[chunkIndex][point.getPosition() % CHUNK_SIZE] = point;
+    }
+
+    private static Point[][] toChunks(final List<Point> points) {
+        final var chunks = new Point[NUMBER_OF_CHUNKS][CHUNK_SIZE];
+        for (var point : points) {
+            chunks[point.getPosition() / CHUNK_SIZE][point.getPosition() % CHUNK_SIZE] = point;
+        }
+        return chunks;
+    }
+
     /**
      * In case were is need to compute next player to move,
      * during sub undoMove stage, need to pass previous LogicalPoints
@@ -71,16 +167,29 @@ final class LogicalPoints implements Transformation {
      * @return
      */
     boolean isOtherPlayerToMove() {
+        return isOtherPlayerToMove(this.ballPosition);
+    }
+
+    private static boolean isOtherPlayerToMove(final Point ballPosition) {
+        final var allowed = ballPosition.countAllowedDirections();
         return ballPosition.isOnTop() || ballPosition.isOnBottom() ||
-            ballPosition.getUnavailableDirection().size() == 1 ||
-            ballPosition.getAllowedDirection().size() == 8 ||
-            ballPosition.getAllowedDirection().isEmpty();
+            allowed == 7 ||
+            allowed == 8 ||
+            allowed == 0;
     }
 
     Point getBall() {
         return new Point(ballPosition);
     }
 
+    int ballMask() {
+        return this.ballPosition.allowedMask();
+    }
+
+    boolean isBallInGoal() {
+        return this.ballPosition.isOnTop() || this.ballPosition.isOnBottom();
+    }
+
     boolean isAvailable(Direction direction) {
         return this.ballPosition.isAvailable(direction);
     }
@@ -89,6 +198,13 @@ final class LogicalPoints implements Transformation {
         return this.ballPosition.getPosition();
     }
 
+    /**
+     * @return Zobrist key of drawn edges and the ball
+     */
+    long key() {
+        return this.key;
+    }
+
     /**
      * Contract of this method is preserved in the TransformationTest class.
      *
@@ -97,23 +213,45 @@ final class LogicalPoints implements Transformation {
      */
     @Override
     public int[] transform() {
-        return points
-            .stream()
-            .sorted(comparingInt(Point::getPosition))
-            .map(Point::getAllDirections)
-            .flatMap(List::stream)
-            .mapToInt(x -> x ? 1 : 0)
-            .toArray();
+        final var result = new int[Features.LENGTH];
+        transform(result, 0);
+        return result;
+    }
+
+    @Override
+    public void transform(final int[] target, final int offset) {
+        Features.binary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void transform(final byte[] target, final int offset) {
+        Features.binary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void transform(final ByteBuffer target) {
+        Features.binary(this::maskOf, target);
     }
 
     @Override
     public double[] nonBinaryTransformation() {
-        return points
-            .stream()
-            .sorted(comparingInt(Point::getPosition))
-            .map(LogicalPoints::nonBinary)
-            .flatMapToDouble(Arrays::stream)
-            .toArray();
+        final var result = new double[Features.LENGTH];
+        nonBinaryTransformation(result, 0);
+        return result;
+    }
+
+    @Override
+    public void nonBinaryTransformation(final double[] target, final int offset) {
+        Features.nonBinary(this::maskOf, target, offset);
+    }
+
+    @Override
+    public void nonBinaryTransformation(final float[] target, final int offset) {
+        Features.nonBinary(this::maskOf, target, offset);
+    }
+
+    private int maskOf(final int position) {
+        return point(this.points, position).allowedMask();
     }
 
     /**
@@ -151,18 +289,19 @@ final class LogicalPoints implements Transformation {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         LogicalPoints that = (LogicalPoints) o;
-        return Objects.equals(points, that.points) && Objects.equals(ballPosition, that.ballPosition);
+        return key == that.key &&
+            Arrays.deepEquals(points, that.points) && Objects.equals(ballPosition, that.ballPosition);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(points, ballPosition);
+        return Long.hashCode(key);
     }
 
     @Override
     public String toString() {
         return "LogicalPoints{" +
-            "points=" + points +
+            "points=" + Arrays.deepToString(points) +
             ", ballPosition=" + ballPosition +
             '}';
     }
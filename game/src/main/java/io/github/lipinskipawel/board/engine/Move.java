@@ -1,20 +1,96 @@
 package io.github.lipinskipawel.board.engine;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * This class is an API.
+ * This class represents a move which is a sequence of {@link Direction directions}.
+ * <p>
+ * Directions are packed as 3-bit codes of {@link Direction#ordinal()} into {@code long}s. Every {@code long} holds 21
+ * directions, so a typical move takes a single {@code long}. Use {@link #size()} and {@link #directionAt(int)} to
+ * iterate over directions without allocations, {@link #getMove()} copies directions into a new list on every call.
+ * Formats which store directions in the same way use {@link #pack(long, int, Direction)} and
+ * {@link #unpack(long, int)}.
+ * <p>
+ * The serialized form is still the list of directions, the same as written by versions which did not pack directions,
+ * so moves can be exchanged with them in both ways.
+ */
 final public class Move implements Serializable {
-    private final List<Direction> directions;
+    private static final long serialVersionUID = -707102681215544298L;
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("directions", List.class)
+    };
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int BITS_PER_DIRECTION = 3;
+    /**
+     * Number of directions packed into a single {@code long}.
+     */
+    public static final int DIRECTIONS_PER_LONG = 21;
+    private static final long DIRECTION_MASK = 0b111;
+    private final long[] packed;
+    private final int size;
+    private final int hash;
 
     public Move(List<Direction> directions) {
-        Direction[] arr = new Direction[directions.size()];
-        for (int i = 0; i < directions.size(); i++) {
-            arr[i] = directions.get(i);
+        this.size = directions.size();
+        this.packed = new long[longsFor(this.size)];
+        for (int i = 0; i < this.size; i++) {
+            packInto(this.packed, i, directions.get(i).ordinal());
         }
-        this.directions = List.of(arr);
+        this.hash = computeHash();
+    }
+
+    /**
+     * Creates a move out of the ordinals of directions without creating any {@link Direction} object or list.
+     *
+     * @param ordinals of directions where the first {@code size} elements are used
+     * @param size     number of directions
+     */
+    Move(final byte[] ordinals, final int size) {
+        this(ordinals, 0, size);
+    }
+
+    /**
+     * @param ordinals of directions
+     * @param offset   index of the first direction of this move
+     * @param size     number of directions
+     */
+    Move(final byte[] ordinals, final int offset, final int size) {
+        this.size = size;
+        this.packed = new long[longsFor(size)];
+        for (int i = 0; i < size; i++) {
+            packInto(this.packed, i, ordinals[offset + i]);
+        }
+        this.hash = computeHash();
+    }
+
+    /**
+     * Creates a move out of already packed directions, bits above the given number of directions are ignored.
+     *
+     * @param packed directions packed in the same layout as {@link #packedAt(int)} returns
+     * @param size   number of directions
+     */
+    Move(final long[] packed, final int size) {
+        if (size < 0 || longsFor(size) > packed.length) {
+            throw new IllegalArgumentException("Can not unpack " + size + " directions from " + packed.length + " longs");
+        }
+        this.size = size;
+        this.packed = Arrays.copyOf(packed, longsFor(size));
+        if (size > 0) {
+            final var last = this.packed.length - 1;
+            final var directionsInLast = size - last * DIRECTIONS_PER_LONG;
+            this.packed[last] &= -1L >>> (Long.SIZE - directionsInLast * BITS_PER_DIRECTION);
+        }
+        this.hash = computeHash();
     }
 
     public static Move emptyMove() {
@@ -22,7 +98,119 @@ final public class Move implements Serializable {
     }
 
     public List<Direction> getMove() {
-        return new ArrayList<>(this.directions);
+        final var directions = new ArrayList<Direction>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            directions.add(directionAt(i));
+        }
+        return directions;
+    }
+
+    /**
+     * @return number of directions of this move
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index of the direction, starting from 0
+     * @return direction at the given index
+     * @throws IndexOutOfBoundsException when index is not in the range [0, {@link #size()})
+     */
+    public Direction directionAt(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+        }
+        return unpack(this.packed[index / DIRECTIONS_PER_LONG], index);
+    }
+
+    /**
+     * @param index of the long, starting from 0
+     * @return 21 directions starting from the direction {@code index * 21}, every direction as 3 bits of its ordinal
+     */
+    long packedAt(final int index) {
+        return this.packed[index];
+    }
+
+    /**
+     * @param size number of directions
+     * @return number of {@code long}s needed to pack the given number of directions
+     */
+    public static int longsFor(final int size) {
+        return (size + DIRECTIONS_PER_LONG - 1) / DIRECTIONS_PER_LONG;
+    }
+
+    /**
+     * Packs the direction into the {@code long} which holds directions from {@code index / 21 * 21} to
+     * {@code index / 21 * 21 + 20}. The slot of the direction must be empty.
+     *
+     * @param packed    directions packed so far
+     * @param index     of the direction, starting from 0
+     * @param direction to pack
+     * @return directions with the given direction packed at its slot
+     */
+    public static long pack(final long packed, final int index, final Direction direction) {
+        return pack(packed, index, direction.ordinal());
+    }
+
+    /**
+     * @param packed directions packed by {@link #pack(long, int, Direction)}
+     * @param index  of the direction, starting from 0
+     * @return direction at the slot of the given index
+     */
+    public static Direction unpack(final long packed, final int index) {
+        return DIRECTIONS[(int) (packed >>> (index % DIRECTIONS_PER_LONG) * BITS_PER_DIRECTION & DIRECTION_MASK)];
+    }
+
+    private static long pack(final long packed, final int index, final int ordinal) {
+        return packed | (long) ordinal << (index % DIRECTIONS_PER_LONG) * BITS_PER_DIRECTION;
+    }
+
+    private static void packInto(final long[] packed, final int index, final int ordinal) {
+        packed[index / DIRECTIONS_PER_LONG] = pack(packed[index / DIRECTIONS_PER_LONG], index, ordinal);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        final var fields = out.putFields();
+        fields.put("directions", List.copyOf(getMove()));
+        out.writeFields();
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final var directions = in.readFields().get("directions", null);
+        if (!(directions instanceof List)) {
+            throw new InvalidObjectException("Move has no list of directions");
+        }
+        final var list = (List<?>) directions;
+        final var ordinals = new byte[list.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            if (!(list.get(i) instanceof Direction)) {
+                throw new InvalidObjectException("Move contains " + list.get(i) + " which is not a direction");
+            }
+            ordinals[i] = (byte) ((Direction) list.get(i)).ordinal();
+        }
+        restoreFrom(new Move(ordinals, ordinals.length));
+    }
+
+    /**
+     * Final fields can only be set through reflection during the deserialization.
+     */
+    private void restoreFrom(final Move move) throws InvalidObjectException {
+        try {
+            for (var name : List.of("packed", "size", "hash")) {
+                final var field = Move.class.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(this, field.get(move));
+            }
+        } catch (ReflectiveOperationException e) {
+            final var exception = new InvalidObjectException("Can not restore " + move);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private int computeHash() {
+        return 31 * Arrays.hashCode(this.packed) + this.size;
     }
 
     @Override
@@ -30,18 +218,20 @@ final public class Move implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Move move = (Move) o;
-        return Objects.equals(directions, move.directions);
+        return size == move.size &&
+            hash == move.hash &&
+            Arrays.equals(packed, move.packed);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(directions);
+        return hash;
     }
 
     @Override
     public String toString() {
         return "Move{" +
-            "directions=" + directions +
+            "directions=" + getMove() +
             '}';
     }
 }
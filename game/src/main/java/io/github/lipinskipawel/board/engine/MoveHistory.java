@@ -4,144 +4,237 @@ import io.github.lipinskipawel.board.internal.NoOpLogger;
 import io.github.lipinskipawel.board.spi.Logger;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Queue;
-
-import static java.util.stream.Collectors.toList;
 
 /**
  * This class is responsible for holding all moves made by players and
  * computing current player to move. This class is also responsible for
  * 'small' moves made by the player during the game.
  * 'Small' move is when the ball is bouncing off the wall or different type of obstacle.
+ * <p>
+ * The history is persistent. Moves and small moves are kept as immutable singly linked lists where the head is the
+ * latest element. Every change creates at most a few new nodes and shares the rest of the history with the previous
+ * instance, so adding and undoing directions does not depend on the length of the game.
  */
 final class MoveHistory {
     private static final Logger LOGGER = new NoOpLogger();
-    private final Queue<Move> moves;
-    private final List<Direction> smallMove;
+    private final Moves moves;
+    private final Directions smallMove;
 
     MoveHistory() {
-        this.moves = new LinkedList<>();
-        this.smallMove = new ArrayList<>();
+        this(null, null);
     }
 
-    private MoveHistory(final LinkedList<Move> moves,
-                        final List<Direction> smallMove) {
+    private MoveHistory(final Moves moves,
+                        final Directions smallMove) {
         this.moves = moves;
         this.smallMove = smallMove;
     }
 
     List<Move> allMoves() {
-        return new ArrayList<>(this.moves);
+        final var result = new Move[Moves.size(this.moves)];
+        for (var node = this.moves; node != null; node = node.previous) {
+            result[node.size - 1] = node.move;
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * @return number of all directions, the same as the size of {@link #allDirections()}
+     */
+    int directionCount() {
+        return Moves.directionCount(this.moves) + Directions.size(this.smallMove);
     }
 
     List<Direction> allDirections() {
-        final var directions = new ArrayList<>(this.moves)
-            .stream()
-            .map(Move::getMove)
-            .flatMap(List::stream)
-            .collect(toList());
-        directions.addAll(new ArrayList<>(this.smallMove));
+        final var result = new Direction[directionCount()];
+        var index = result.length;
+        for (var node = this.smallMove; node != null; node = node.previous) {
+            result[--index] = node.direction;
+        }
+        for (var move = this.moves; move != null; move = move.previous) {
+            for (var node = move.directions; node != null; node = node.previous) {
+                result[--index] = node.direction;
+            }
+        }
+        final var directions = new ArrayList<>(Arrays.asList(result));
         LOGGER.trace("allDirections return " + directions + " directions");
         return directions;
     }
 
     MoveHistory addMove(final Move move) {
-        if (this.smallMove.size() > 0) {
-            final var copyMoves = new LinkedList<>(this.moves);
-            final var copySmallMoves = new ArrayList<>(this.smallMove);
-            copySmallMoves.addAll(move.getMove());
-            copyMoves.add(new Move(copySmallMoves));
-            return new MoveHistory(copyMoves, new ArrayList<>());
-        } else {
-            final var copyMoves = new LinkedList<>(this.moves);
-            copyMoves.add(move);
-            return new MoveHistory(copyMoves, new ArrayList<>());
+        var directions = this.smallMove;
+        for (var i = 0; i < move.size(); i++) {
+            directions = new Directions(move.directionAt(i), directions);
         }
+        final var playedMove = this.smallMove == null ? move : new Move(Directions.toList(directions));
+        return new MoveHistory(new Moves(playedMove, directions, this.moves), null);
     }
 
     MoveHistory add(final Direction direction) {
-        final var copySmall = new ArrayList<>(this.smallMove);
-        copySmall.add(direction);
-        return new MoveHistory(new LinkedList<>(this.moves), copySmall);
+        return new MoveHistory(this.moves, new Directions(direction, this.smallMove));
     }
 
     /**
      * Undo small move if there is no small moves already made then
      * it will change last move into small move and then remove one small move
      *
-     * @return
+     * @return history without the last direction
      */
     MoveHistory forceUndo() {
-        if (this.smallMove.size() == 0) {
-            final var copyMoves = new LinkedList<>(this.moves);
-            final var directions = copyMoves.removeLast().getMove();
-            directions.remove(directions.size() - 1);
-            return new MoveHistory(copyMoves, directions);
+        if (this.smallMove == null) {
+            if (this.moves == null) {
+                throw new NoSuchElementException();
+            }
+            return new MoveHistory(this.moves.previous, this.moves.directions.previous);
         }
-        final var copySmall = new ArrayList<>(this.smallMove);
-        copySmall.remove(copySmall.size() - 1);
-        return new MoveHistory(new LinkedList<>(this.moves), copySmall);
+        return new MoveHistory(this.moves, this.smallMove.previous);
     }
 
     /**
      * If there is move to undo this method will undo move and all small moves
      * otherwise will not undo anything
      *
-     * @return
+     * @return history without the last move
      */
     MoveHistory undoMove() {
-        if (this.moves.size() <= 0)
+        if (this.moves == null)
             return this;
-        final var copyMoves = new LinkedList<>(this.moves);
-        copyMoves.removeLast();
-        return new MoveHistory(copyMoves, new ArrayList<>());
+        return new MoveHistory(this.moves.previous, null);
     }
 
     /**
      * Undo only the small move
      *
-     * @return
+     * @return history without the last small move
      */
     MoveHistory undo() {
-        if (this.smallMove.size() == 0)
-            return new MoveHistory(new LinkedList<>(this.moves), new ArrayList<>(this.smallMove));
-        final var copySmall = new ArrayList<>(this.smallMove);
-        copySmall.remove(copySmall.size() - 1);
-        return new MoveHistory(new LinkedList<>(this.moves), copySmall);
+        if (this.smallMove == null)
+            return new MoveHistory(this.moves, null);
+        return new MoveHistory(this.moves, this.smallMove.previous);
     }
 
     boolean currentPlayer() {
-        return this.moves.size() % 2 == 0;
+        return Moves.size(this.moves) % 2 == 0;
     }
 
     /**
      * @return last Direction
      */
     Optional<Direction> getLastDirection() {
-        if (this.smallMove.size() == 0) {
-            if (this.moves.size() == 0) {
-                return Optional.empty();
-            } else {
-                // should be remove last item
-                final var copyMoves = new LinkedList<>(this.moves);
-                final var last = copyMoves.removeLast().getMove();
-                return Optional.of(last.get(last.size() - 1));
-            }
-        } else {
-            return Optional.of(this.smallMove.get(this.smallMove.size() - 1));
+        if (this.smallMove != null) {
+            return Optional.of(this.smallMove.direction);
+        }
+        if (this.moves == null) {
+            return Optional.empty();
         }
+        return Optional.of(this.moves.directions.direction);
     }
 
     boolean isSmallMoveHasBeenMade() {
-        return !this.smallMove.isEmpty();
+        return this.smallMove != null;
     }
 
     Optional<Move> getLastMove() {
-        return Optional.ofNullable(this.moves.peek());
+        return this.moves == null ? Optional.empty() : Optional.of(this.moves.move);
+    }
+
+    /**
+     * Node of the persistent list of played moves. Every node remembers directions of its move as
+     * {@link Directions}, so the move can be turned back into small moves without copying.
+     */
+    private static final class Moves {
+        private final Move move;
+        private final Directions directions;
+        private final Moves previous;
+        private final int size;
+        private final int directionCount;
+        private final int hash;
+
+        private Moves(final Move move, final Directions directions, final Moves previous) {
+            this.move = move;
+            this.directions = directions;
+            this.previous = previous;
+            this.size = size(previous) + 1;
+            this.directionCount = directionCount(previous) + Directions.size(directions);
+            this.hash = 31 * hash(previous) + move.hashCode();
+        }
+
+        private static int size(final Moves moves) {
+            return moves == null ? 0 : moves.size;
+        }
+
+        private static int directionCount(final Moves moves) {
+            return moves == null ? 0 : moves.directionCount;
+        }
+
+        private static int hash(final Moves moves) {
+            return moves == null ? 0 : moves.hash;
+        }
+
+        private static boolean equals(Moves first, Moves second) {
+            if (size(first) != size(second)) {
+                return false;
+            }
+            while (first != second) {
+                if (first.hash != second.hash || !first.move.equals(second.move)) {
+                    return false;
+                }
+                first = first.previous;
+                second = second.previous;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Node of the persistent list of directions.
+     */
+    private static final class Directions {
+        private final Direction direction;
+        private final Directions previous;
+        private final int size;
+        private final int hash;
+
+        private Directions(final Direction direction, final Directions previous) {
+            this.direction = direction;
+            this.previous = previous;
+            this.size = size(previous) + 1;
+            this.hash = 31 * hash(previous) + direction.ordinal() + 1;
+        }
+
+        private static int size(final Directions directions) {
+            return directions == null ? 0 : directions.size;
+        }
+
+        private static int hash(final Directions directions) {
+            return directions == null ? 0 : directions.hash;
+        }
+
+        private static List<Direction> toList(final Directions directions) {
+            final var result = new Direction[size(directions)];
+            for (var node = directions; node != null; node = node.previous) {
+                result[node.size - 1] = node.direction;
+            }
+            return Arrays.asList(result);
+        }
+
+        private static boolean equals(Directions first, Directions second) {
+            if (size(first) != size(second)) {
+                return false;
+            }
+            while (first != second) {
+                if (first.hash != second.hash || first.direction != second.direction) {
+                    return false;
+                }
+                first = first.previous;
+                second = second.previous;
+            }
+            return true;
+        }
     }
 
     @Override
@@ -149,19 +242,19 @@ final class MoveHistory {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MoveHistory that = (MoveHistory) o;
-        return Objects.equals(moves, that.moves) && Objects.equals(smallMove, that.smallMove);
+        return Moves.equals(moves, that.moves) && Directions.equals(smallMove, that.smallMove);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(moves, smallMove);
+        return 31 * Moves.hash(moves) + Directions.hash(smallMove);
     }
 
     @Override
     public String toString() {
         return "MoveHistory{" +
-            "moves=" + moves +
-            ", smallMove=" + smallMove +
+            "moves=" + allMoves() +
+            ", smallMove=" + Directions.toList(smallMove) +
             '}';
     }
 }
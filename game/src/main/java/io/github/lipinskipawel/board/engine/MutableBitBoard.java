@@ -0,0 +1,202 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static io.github.lipinskipawel.board.engine.BitBoard.close;
+import static io.github.lipinskipawel.board.engine.BitBoard.edgesOf;
+import static io.github.lipinskipawel.board.engine.BitBoard.isOpen;
+import static io.github.lipinskipawel.board.engine.BitBoard.isOtherPlayerToMove;
+import static io.github.lipinskipawel.board.engine.BitBoard.open;
+import static io.github.lipinskipawel.board.engine.BitBoard.shift;
+
+/**
+ * This is the {@link MutableBoard} implementation which keeps the pitch in the same masks as the {@link BitBoard}.
+ * <p>
+ * Every made direction is recorded on the stack as a single byte. Lower three bits keep the {@link Direction#ordinal()},
+ * the fourth bit tells whether the player has been switched after that direction and the fifth bit tells whether the
+ * opposite direction of the new ball position has been closed by the move. Points inside the goal have all directions
+ * closed from the beginning, so reverting the move into the goal must not open them. The second stack keeps the number
+ * of directions before each make, so {@link #unmake()} knows how many directions to revert.
+ *
+ * @param <T> player
+ */
+final class MutableBitBoard<T> implements MutableBoard<T> {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int DIRECTION_MASK = 0b0111;
+    private static final int SWITCHED = 0b1000;
+    private static final int OPPOSITE_CLOSED = 0b1_0000;
+    private static final int INITIAL_CAPACITY = 64;
+    private final Board<T> source;
+    private final long[] edges;
+    private final PlayerProvider<T> playerProvider;
+    private int ballPosition;
+    private long edgesKey;
+    private byte[] directions;
+    private int numberOfDirections;
+    private int[] makes;
+    private int numberOfMakes;
+
+    MutableBitBoard(final Board<T> source) {
+        this.source = source;
+        this.edges = edgesOf(source.transform());
+        this.playerProvider = source.getPlayerProvider();
+        this.ballPosition = source.getBallAPI().getPosition();
+        this.edgesKey = Zobrist.of(this.edges, this.ballPosition);
+        this.directions = new byte[INITIAL_CAPACITY];
+        this.numberOfDirections = 0;
+        this.makes = new int[INITIAL_CAPACITY];
+        this.numberOfMakes = 0;
+    }
+
+    @Override
+    public boolean make(final Direction direction) {
+        if (!isMoveAllowed(direction)) {
+            return false;
+        }
+        pushMake();
+        move(direction.ordinal());
+        return true;
+    }
+
+    @Override
+    public boolean make(final Move move) {
+        pushMake();
+        for (var i = 0; i < move.size(); i++) {
+            final var direction = move.directionAt(i);
+            if (!isMoveAllowed(direction)) {
+                unmake();
+                return false;
+            }
+            move(direction.ordinal());
+        }
+        return true;
+    }
+
+    @Override
+    public void unmake() {
+        if (this.numberOfMakes == 0) {
+            throw new RuntimeException("There is no move to unmake");
+        }
+        final var previousNumberOfDirections = this.makes[--this.numberOfMakes];
+        while (this.numberOfDirections > previousNumberOfDirections) {
+            undo(this.directions[--this.numberOfDirections]);
+        }
+    }
+
+    @Override
+    public Board<T> freeze() {
+        var board = this.source;
+        for (var i = 0; i < this.numberOfDirections; i++) {
+            board = board.executeMove(DIRECTIONS[this.directions[i] & DIRECTION_MASK]);
+        }
+        return board;
+    }
+
+    @Override
+    public boolean isMoveAllowed(final Direction destination) {
+        return isOpen(this.edges, this.ballPosition, destination.ordinal());
+    }
+
+    @Override
+    public int getBallPosition() {
+        return this.ballPosition;
+    }
+
+    @Override
+    public long positionKey() {
+        return this.edgesKey ^ Zobrist.side(this.playerProvider);
+    }
+
+    @Override
+    public T getPlayer() {
+        return this.playerProvider.current();
+    }
+
+    @Override
+    public boolean isGoal() {
+        return BitBoard.isGoal(this.ballPosition);
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return isGoal() || allowedDirectionMask() == 0;
+    }
+
+    @Override
+    public Optional<T> takeTheWinner() {
+        if (!isGameOver())
+            return Optional.empty();
+        if (isGoal() && getBallPosition() < 20) {
+            return Optional.of(this.playerProvider.first());
+        }
+        if (!isGoal() && isGameOver()) {
+            return Optional.of(getPlayer());
+        }
+        return Optional.of(this.playerProvider.second());
+    }
+
+    @Override
+    public int allowedDirectionMask() {
+        return BitBoard.allowedMask(this.edges, this.ballPosition);
+    }
+
+    private void move(final int direction) {
+        final var newBallPosition = this.ballPosition + shift(direction);
+        final var opposite = (direction + 4) & DIRECTION_MASK;
+        var record = direction;
+        close(this.edges, this.ballPosition, direction);
+        this.edgesKey ^= Zobrist.halfEdge(this.ballPosition, direction)
+            ^ Zobrist.ball(this.ballPosition)
+            ^ Zobrist.ball(newBallPosition);
+        if (isOpen(this.edges, newBallPosition, opposite)) {
+            close(this.edges, newBallPosition, opposite);
+            this.edgesKey ^= Zobrist.halfEdge(newBallPosition, opposite);
+            record |= OPPOSITE_CLOSED;
+        }
+        this.ballPosition = newBallPosition;
+
+        if (isOtherPlayerToMove(this.edges, newBallPosition)) {
+            this.playerProvider.swap();
+            record |= SWITCHED;
+        }
+        if (this.numberOfDirections == this.directions.length) {
+            this.directions = Arrays.copyOf(this.directions, this.directions.length * 2);
+        }
+        this.directions[this.numberOfDirections++] = (byte) record;
+    }
+
+    private void undo(final int record) {
+        final var direction = record & DIRECTION_MASK;
+        if ((record & SWITCHED) != 0) {
+            this.playerProvider.swap();
+        }
+        final var previousBallPosition = this.ballPosition - shift(direction);
+        if ((record & OPPOSITE_CLOSED) != 0) {
+            open(this.edges, this.ballPosition, (direction + 4) & DIRECTION_MASK);
+            this.edgesKey ^= Zobrist.halfEdge(this.ballPosition, (direction + 4) & DIRECTION_MASK);
+        }
+        open(this.edges, previousBallPosition, direction);
+        this.edgesKey ^= Zobrist.halfEdge(previousBallPosition, direction)
+            ^ Zobrist.ball(this.ballPosition)
+            ^ Zobrist.ball(previousBallPosition);
+        this.ballPosition = previousBallPosition;
+    }
+
+    private void pushMake() {
+        if (this.numberOfMakes == this.makes.length) {
+            this.makes = Arrays.copyOf(this.makes, this.makes.length * 2);
+        }
+        this.makes[this.numberOfMakes++] = this.numberOfDirections;
+    }
+
+    @Override
+    public String toString() {
+        return "MutableBitBoard{" +
+            "edges=" + Arrays.toString(edges) +
+            ", ballPosition=" + ballPosition +
+            ", playerProvider=" + playerProvider +
+            ", directions=" + Arrays.toString(Arrays.copyOf(directions, numberOfDirections)) +
+            '}';
+    }
+}
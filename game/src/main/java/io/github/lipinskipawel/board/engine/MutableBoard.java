@@ -0,0 +1,98 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Optional;
+
+/**
+ * This is a mutable counterpart of the {@link Board} designed for searching and replaying games.
+ *
+ * <p>Every successful {@link #make(Direction)} or {@link #make(Move)} changes this object in place and can be reverted
+ * by {@link #unmake()}. Making and unmaking moves does not allocate once internal buffers are large enough. The
+ * {@link #freeze()} method returns an immutable {@link Board} which is safe to share.
+ *
+ * <p>Instances are created by the {@link Boards#mutableBoard(Board)} method. This object is not thread safe.
+ *
+ * @param <T> player
+ */
+public interface MutableBoard<T> {
+
+    /**
+     * This method will move the ball in the given direction. The player is changed on the same rules as in
+     * {@link Board#executeMove(Direction)}.
+     *
+     * @param direction this is the direction to move a ball
+     * @return true when the move has been made, false when the move is not allowed and nothing has changed
+     */
+    boolean make(final Direction direction);
+
+    /**
+     * This method will move the ball by all directions of the given move. The move is made all or nothing, when any
+     * of the directions is not allowed then nothing has changed.
+     *
+     * @param move this move will be made
+     * @return true when the move has been made, false otherwise
+     */
+    boolean make(final Move move);
+
+    /**
+     * This method will revert the last successful {@link #make(Direction)} or {@link #make(Move)}.
+     *
+     * @throws RuntimeException when there is no make to revert since this object has been created
+     */
+    void unmake();
+
+    /**
+     * This method will return an immutable {@link Board} representing the current state of this object. The returned
+     * board is the board this object has been created from with all made directions executed on it.
+     *
+     * @return immutable board
+     */
+    Board<T> freeze();
+
+    /**
+     * @param destination possible direction to move ball
+     * @return true or false whenever the move is allowed
+     * @see Board#isMoveAllowed(Direction)
+     */
+    boolean isMoveAllowed(final Direction destination);
+
+    /**
+     * @return position where the ball is
+     */
+    int getBallPosition();
+
+    /**
+     * @return key of the current position
+     * @see Board#positionKey()
+     */
+    long positionKey();
+
+    /**
+     * @return mask of directions allowed from the ball position
+     * @see Board#allowedDirectionMask()
+     */
+    int allowedDirectionMask();
+
+    /**
+     * @return the player which is the current player
+     * @see Board#getPlayer()
+     */
+    T getPlayer();
+
+    /**
+     * @return true or false whenever ball in the one of the goal area
+     * @see Board#isGoal()
+     */
+    boolean isGoal();
+
+    /**
+     * @return true if any of player score a goal or there are no possible moves to make. Otherwise false.
+     * @see Board#isGameOver()
+     */
+    boolean isGameOver();
+
+    /**
+     * @return the winner of the game or {@link Optional#empty()} if the game is not decided yet
+     * @see Board#takeTheWinner()
+     */
+    Optional<T> takeTheWinner();
+}
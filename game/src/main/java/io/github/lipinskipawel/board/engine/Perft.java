@@ -0,0 +1,164 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class counts sequences of legal moves up to the given depth. It is the same depth-first search over the masks
+ * of the {@link BitBoard} as in the {@link LegalMovesFuture}, but it only counts moves, so nothing is allocated per
+ * found move. After a move has been finished the search continues with moves of the other player until the depth has
+ * been reached or the game is over.
+ * <p>
+ * The parallel version forks unfinished branches while workers of the pool are starving for work, every task counts
+ * on its own and counts are summed when tasks are joined. The timeout is checked by every task after
+ * {@link #NODES_BETWEEN_CLOCK_CHECKS} directions, once it has expired all tasks stop and partial counts are returned.
+ */
+final class Perft {
+    private static final int NODES_BETWEEN_CLOCK_CHECKS = 1 << 12;
+    private final Board<?> board;
+    private final int depth;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final boolean isParallel;
+    private volatile boolean isStopped;
+
+    private Perft(final Board<?> board, final int depth, final Duration timeout, final boolean isParallel) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive but was " + depth);
+        }
+        this.board = board;
+        this.depth = depth;
+        this.hasDeadline = timeout != null;
+        this.deadline = this.hasDeadline ? System.nanoTime() + timeout.toNanos() : 0;
+        this.isParallel = isParallel;
+        this.isStopped = false;
+    }
+
+    static PerftResult count(final Board<?> board, final int depth, final Duration timeout) {
+        return new Perft(board, depth, timeout, false).run();
+    }
+
+    static PerftResult countInParallel(final Board<?> board, final int depth, final Duration timeout) {
+        return new Perft(board, depth, timeout, true).run();
+    }
+
+    private PerftResult run() {
+        final var start = System.nanoTime();
+        final var root = new Search(
+            BitBoard.edgesOf(this.board.transform()), this.board.getBallAPI().getPosition(), 1
+        );
+        if (this.isParallel) {
+            LegalMovesScheduler.forkJoinPool(LegalMovesScheduler.executor()).invoke(root);
+        } else {
+            root.compute();
+        }
+        return new PerftResult(
+            this.depth,
+            root.moves,
+            root.nodes,
+            root.terminalPositions,
+            !this.isStopped,
+            Duration.ofNanos(System.nanoTime() - start)
+        );
+    }
+
+    private void checkClock() {
+        if (this.hasDeadline && System.nanoTime() - this.deadline >= 0) {
+            this.isStopped = true;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class Search extends RecursiveAction {
+        private static final int SURPLUS_OF_TASKS = 2;
+        private final long[] edges;
+        private final int ballPosition;
+        private final int ply;
+        private final List<Search> forked;
+        private long moves;
+        private long nodes;
+        private long terminalPositions;
+        private int nodesUntilClockCheck;
+
+        private Search(final long[] edges, final int ballPosition, final int ply) {
+            this.edges = edges;
+            this.ballPosition = ballPosition;
+            this.ply = ply;
+            this.forked = new ArrayList<>();
+            this.nodesUntilClockCheck = NODES_BETWEEN_CLOCK_CHECKS;
+        }
+
+        @Override
+        protected void compute() {
+            if (!isGameOver(this.ballPosition)) {
+                search(this.ballPosition, this.ply);
+            }
+            for (var task : this.forked) {
+                task.join();
+                this.moves += task.moves;
+                this.nodes += task.nodes;
+                this.terminalPositions += task.terminalPositions;
+            }
+        }
+
+        private void search(final int ballPosition, final int ply) {
+            for (var direction = 0; direction < 8 && !isStopped; direction++) {
+                if (!BitBoard.isOpen(this.edges, ballPosition, direction)) {
+                    continue;
+                }
+                final var newBallPosition = ballPosition + BitBoard.shift(direction);
+                final var opposite = (direction + 4) & 7;
+                final var isOppositeOpen = BitBoard.isOpen(this.edges, newBallPosition, opposite);
+                BitBoard.close(this.edges, ballPosition, direction);
+                if (isOppositeOpen) {
+                    BitBoard.close(this.edges, newBallPosition, opposite);
+                }
+                this.nodes++;
+                if (--this.nodesUntilClockCheck == 0) {
+                    this.nodesUntilClockCheck = NODES_BETWEEN_CLOCK_CHECKS;
+                    checkClock();
+                }
+
+                final var allowed = Integer.bitCount(BitBoard.allowedMask(this.edges, newBallPosition));
+                if (allowed == 7 || allowed == 0) {
+                    moveFinished(newBallPosition, ply);
+                } else {
+                    searchOrFork(newBallPosition, ply);
+                }
+
+                BitBoard.open(this.edges, ballPosition, direction);
+                if (isOppositeOpen) {
+                    BitBoard.open(this.edges, newBallPosition, opposite);
+                }
+            }
+        }
+
+        private void moveFinished(final int ballPosition, final int ply) {
+            final var isGameOver = isGameOver(ballPosition);
+            if (isGameOver) {
+                this.terminalPositions++;
+            }
+            if (ply == depth) {
+                this.moves++;
+            } else if (!isGameOver) {
+                searchOrFork(ballPosition, ply + 1);
+            }
+        }
+
+        private void searchOrFork(final int ballPosition, final int ply) {
+            if (isParallel && getSurplusQueuedTaskCount() < SURPLUS_OF_TASKS) {
+                final var task = new Search(this.edges.clone(), ballPosition, ply);
+                task.fork();
+                this.forked.add(task);
+            } else {
+                search(ballPosition, ply);
+            }
+        }
+
+        private boolean isGameOver(final int ballPosition) {
+            return BitBoard.isGoal(ballPosition) || BitBoard.allowedMask(this.edges, ballPosition) == 0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * This class is an API.
+ * This class is returned by the {@link Board#perft(int)} family of methods. It holds the result of counting all
+ * sequences of legal moves up to the given depth without creating any {@link Move} object.
+ * <p>
+ * Depth is counted in moves, not directions. Depth 1 counts all legal moves of the current player, depth 2 counts all
+ * legal answers of the opponent to every legal move and so on. Positions where the game is over before reaching the
+ * depth are counted in {@link #terminalPositions()} and have no further moves.
+ */
+public final class PerftResult {
+    private final int depth;
+    private final long moves;
+    private final long nodes;
+    private final long terminalPositions;
+    private final boolean complete;
+    private final Duration elapsed;
+
+    PerftResult(final int depth,
+                final long moves,
+                final long nodes,
+                final long terminalPositions,
+                final boolean complete,
+                final Duration elapsed) {
+        this.depth = depth;
+        this.moves = moves;
+        this.nodes = nodes;
+        this.terminalPositions = terminalPositions;
+        this.complete = complete;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return depth in moves which has been requested
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return number of sequences of legal moves of the requested depth
+     */
+    public long moves() {
+        return moves;
+    }
+
+    /**
+     * @return number of directions which has been made during counting
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * @return number of moves after which the game was over, found on any depth
+     */
+    public long terminalPositions() {
+        return terminalPositions;
+    }
+
+    /**
+     * @return true when counting has finished, false when it has been stopped by the timeout and counts are partial
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Time is not compared by {@link #equals(Object)}, so results of two runs with the same counts are equal.
+     *
+     * @return time spent on counting
+     */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PerftResult that = (PerftResult) o;
+        return depth == that.depth &&
+            moves == that.moves &&
+            nodes == that.nodes &&
+            terminalPositions == that.terminalPositions &&
+            complete == that.complete;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(depth, moves, nodes, terminalPositions, complete);
+    }
+
+    @Override
+    public String toString() {
+        return "PerftResult{" +
+            "depth=" + depth +
+            ", moves=" + moves +
+            ", nodes=" + nodes +
+            ", terminalPositions=" + terminalPositions +
+            ", complete=" + complete +
+            ", elapsed=" + elapsed +
+            '}';
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Arrays;
+
+/**
+ * Scratch record of directions played by a single pass of {@link Board#executeMove(Move)} or
+ * {@link Boards#replay(Iterable)}. Boards play all directions on their own private copy of the pitch and record here
+ * which directions have been played and which of them have finished the move of the player. The record is then
+ * appended to the {@link MoveHistory} at once, so the history is the same as after playing directions one by one.
+ */
+final class PlayedDirections {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private byte[] ordinals;
+    private boolean[] finishesMove;
+    private int size;
+    private int numberOfFinishedMoves;
+
+    PlayedDirections(final int expectedSize) {
+        final var capacity = Math.max(expectedSize, 1);
+        this.ordinals = new byte[capacity];
+        this.finishesMove = new boolean[capacity];
+    }
+
+    /**
+     * @param ordinal      of the played direction
+     * @param finishesMove whether the other player is to move after the direction
+     */
+    void add(final int ordinal, final boolean finishesMove) {
+        if (this.size == this.ordinals.length) {
+            this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+            this.finishesMove = Arrays.copyOf(this.finishesMove, this.size * 2);
+        }
+        this.ordinals[this.size] = (byte) ordinal;
+        this.finishesMove[this.size] = finishesMove;
+        this.size++;
+        if (finishesMove) {
+            this.numberOfFinishedMoves++;
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return whether the player to move has changed after all played directions
+     */
+    boolean isOtherPlayerToMove() {
+        return this.numberOfFinishedMoves % 2 == 1;
+    }
+
+    /**
+     * Directions up to the one finishing the move are added as a single {@link Move}, directions after the last
+     * finished move are added as small moves.
+     *
+     * @param history to add played directions to
+     * @return history with all played directions
+     */
+    MoveHistory appendTo(final MoveHistory history) {
+        var result = history;
+        var start = 0;
+        for (var i = 0; i < this.size; i++) {
+            if (this.finishesMove[i]) {
+                result = result.addMove(new Move(this.ordinals, start, i + 1 - start));
+                start = i + 1;
+            }
+        }
+        for (var i = start; i < this.size; i++) {
+            result = result.add(DIRECTIONS[this.ordinals[i]]);
+        }
+        return result;
+    }
+}
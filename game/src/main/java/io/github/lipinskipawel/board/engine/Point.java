@@ -1,38 +1,32 @@
 package io.github.lipinskipawel.board.engine;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.toMap;
-import static java.util.stream.Collectors.toUnmodifiableList;
 
 /**
  * This class represents point on the board.
+ * <p>
+ * Directions are kept as a single byte where n-th bit tells whether the {@link Direction} of n-th
+ * {@link Direction#ordinal()} is still available. The mask is exposed by {@link #allowedMask()}. All lists returned by
+ * this class are cached per mask value in {@link Direction#fromMask(int)}, so querying the point does not allocate.
  */
 final public class Point {
+    private static final int ALL_DIRECTIONS = 0xFF;
+    private static final List<List<Boolean>> FLAGS_BY_MASK = flagsByMask();
     private final int position;
-    private final Map<Direction, Boolean> availableDirections;
+    private byte availableDirections;
 
     Point(int position) {
-        this.position = position;
-        this.availableDirections = initAvailableDirections();
+        this(position, ALL_DIRECTIONS);
     }
 
     Point(Point point) {
-        this.position = point.position;
-        this.availableDirections = point.availableDirections.entrySet()
-            .stream()
-            .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+        this(point.position, point.availableDirections);
     }
 
-    private Point(int position, Map<Direction, Boolean> availableDirections) {
+    Point(int position, int availableDirections) {
         this.position = position;
-        this.availableDirections = availableDirections.entrySet()
-            .stream()
-            .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+        this.availableDirections = (byte) availableDirections;
     }
 
     /**
@@ -41,13 +35,12 @@ final public class Point {
      */
     public Direction kickBallTo(final int destinationPoint) {
         final var findThatNumber = destinationPoint - position;
-        return availableDirections.entrySet()
-            .stream()
-            .filter(entry -> entry.getValue().booleanValue() == Boolean.TRUE)
-            .map(Map.Entry::getKey)
-            .filter(direction -> direction.changeToInt() == findThatNumber)
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Can't make a move in this direction"));
+        for (var direction : getAllowedDirection()) {
+            if (direction.changeToInt() == findThatNumber) {
+                return direction;
+            }
+        }
+        throw new RuntimeException("Can't make a move in this direction");
     }
 
     boolean isOnTop() {
@@ -63,74 +56,92 @@ final public class Point {
     }
 
     boolean isAvailable(final Direction destination) {
-        return this.availableDirections.get(destination);
+        return (mask() & bit(destination)) != 0;
     }
 
-    void setAvailableDirections(final Direction directions) {
-        this.availableDirections.put(directions, Boolean.TRUE);
-    }
 
     List<Direction> getAllowedDirection() {
-        return this.availableDirections
-            .entrySet()
-            .stream()
-            .filter(entry -> entry.getValue().booleanValue() == Boolean.TRUE)
-            .map(Map.Entry::getKey)
-            .collect(toUnmodifiableList());
+        return Direction.fromMask(mask());
     }
 
     List<Direction> getUnavailableDirection() {
-        return this.availableDirections
-            .entrySet()
-            .stream()
-            .filter(entry -> entry.getValue().booleanValue() == Boolean.FALSE)
-            .map(Map.Entry::getKey)
-            .collect(toUnmodifiableList());
+        return Direction.fromMask(~mask());
+    }
+
+    /**
+     * @return number of available directions, the same as the size of {@link #getAllowedDirection()}
+     */
+    int countAllowedDirections() {
+        return Integer.bitCount(mask());
+    }
+
+    /**
+     * @return number of unavailable directions, the same as the size of {@link #getUnavailableDirection()}
+     */
+    int countUnavailableDirections() {
+        return 8 - countAllowedDirections();
     }
 
     List<Boolean> getAllDirections() {
-        return List.of(
-            this.availableDirections.get(Direction.N),
-            this.availableDirections.get(Direction.NE),
-            this.availableDirections.get(Direction.E),
-            this.availableDirections.get(Direction.SE),
-            this.availableDirections.get(Direction.S),
-            this.availableDirections.get(Direction.SW),
-            this.availableDirections.get(Direction.W),
-            this.availableDirections.get(Direction.NW)
-        );
+        return FLAGS_BY_MASK.get(mask());
     }
 
     /**
-     * @param direction
-     * @return
+     * @param direction which will be not available in the returned point
+     * @return copy of this point without the given direction
      */
     Point notAvailableDirection(Direction direction) {
-        int position = this.position;
-        Map<Direction, Boolean> collect = this.availableDirections.entrySet()
-            .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        collect.put(direction, Boolean.FALSE);
-        return new Point(position, collect);
+        return new Point(this.position, mask() & ~bit(direction));
+    }
+
+    /**
+     * @param direction which will be available in the returned point
+     * @return copy of this point with the given direction
+     */
+    Point availableDirection(Direction direction) {
+        return new Point(this.position, mask() | bit(direction));
     }
 
     void notAvailableDirections(Direction... directions) {
         for (Direction direction : directions) {
-            this.availableDirections.put(direction, false);
+            this.availableDirections = (byte) (mask() & ~bit(direction));
         }
     }
 
-    private Map<Direction, Boolean> initAvailableDirections() {
-        final Map<Direction, Boolean> res = new HashMap<>();
-        res.put(Direction.N, Boolean.TRUE);
-        res.put(Direction.NE, Boolean.TRUE);
-        res.put(Direction.E, Boolean.TRUE);
-        res.put(Direction.SE, Boolean.TRUE);
-        res.put(Direction.S, Boolean.TRUE);
-        res.put(Direction.SW, Boolean.TRUE);
-        res.put(Direction.W, Boolean.TRUE);
-        res.put(Direction.NW, Boolean.TRUE);
-        return res;
+    /**
+     * @return mask of available directions where n-th bit represents direction of n-th {@link Direction#ordinal()}
+     * @see Direction#fromMask(int)
+     */
+    public int allowedMask() {
+        return mask();
+    }
+
+    private int mask() {
+        return this.availableDirections & ALL_DIRECTIONS;
+    }
+
+    private static int bit(final Direction direction) {
+        return direction.bit();
+    }
+
+    /**
+     * Flags are in the N, NE, E, SE, S, SW, W, NW order. This order is the contract of the {@link #getAllDirections()}.
+     */
+    private static List<List<Boolean>> flagsByMask() {
+        final var result = new ArrayList<List<Boolean>>(ALL_DIRECTIONS + 1);
+        for (var mask = 0; mask <= ALL_DIRECTIONS; mask++) {
+            result.add(List.of(
+                (mask & bit(Direction.N)) != 0,
+                (mask & bit(Direction.NE)) != 0,
+                (mask & bit(Direction.E)) != 0,
+                (mask & bit(Direction.SE)) != 0,
+                (mask & bit(Direction.S)) != 0,
+                (mask & bit(Direction.SW)) != 0,
+                (mask & bit(Direction.W)) != 0,
+                (mask & bit(Direction.NW)) != 0
+            ));
+        }
+        return List.copyOf(result);
     }
 
     @Override
@@ -138,19 +149,19 @@ final public class Point {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Point point = (Point) o;
-        return position == point.position && Objects.equals(availableDirections, point.availableDirections);
+        return position == point.position && availableDirections == point.availableDirections;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(position, availableDirections);
+        return 31 * position + mask();
     }
 
     @Override
     public String toString() {
         return "Point{" +
             "position=" + position +
-            ", availableDirections=" + availableDirections +
+            ", availableDirections=" + getAllowedDirection() +
             '}';
     }
 }
@@ -0,0 +1,113 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.Arrays;
+
+/**
+ * This class formats and parses the single-line notation of the position. The notation consists of three fields
+ * separated by a single space:
+ * <pre>
+ * drawn edges      53 characters of the base64url alphabet, every character holds 6 edges
+ * ball position    decimal number of the point from 0 to 116
+ * player to move   1 for the first and 2 for the second player
+ * </pre>
+ * Edges are numbered in the same way as in the {@link BoardCodec}. Edge {@code k} is the bit {@code k % 6} of the
+ * value of the character {@code k / 6}. The starting position is
+ * {@code AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 58 1}.
+ * <p>
+ * The history of the position is not a part of the notation.
+ */
+final class PositionNotation {
+    private static final char[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int[] VALUES = values();
+    private static final int BITS_PER_CHARACTER = 6;
+    private static final int EDGE_CHARACTERS =
+        (BoardCodec.NUMBER_OF_EDGES + BITS_PER_CHARACTER - 1) / BITS_PER_CHARACTER;
+    private static final int MAX_LENGTH = EDGE_CHARACTERS + " 116 2".length();
+
+    private PositionNotation() {
+    }
+
+    static String format(final Board<?> board) {
+        final var edges = BoardCodec.edgesOf(board);
+        final var notation = new StringBuilder(MAX_LENGTH);
+        for (var character = 0; character < EDGE_CHARACTERS; character++) {
+            var value = 0;
+            for (var bit = 0; bit < BITS_PER_CHARACTER; bit++) {
+                final var edge = character * BITS_PER_CHARACTER + bit;
+                if (edge < BoardCodec.NUMBER_OF_EDGES && BoardCodec.isDrawn(edges, edge)) {
+                    value |= 1 << bit;
+                }
+            }
+            notation.append(ALPHABET[value]);
+        }
+        final var provider = board.getPlayerProvider();
+        return notation.append(' ')
+            .append(board.getBallAPI().getPosition())
+            .append(' ')
+            .append(provider.current().equals(provider.first()) ? '1' : '2')
+            .toString();
+    }
+
+    static <T> Board<T> parse(final CharSequence notation, final T first, final T second) {
+        final var length = notation.length();
+        if (length < EDGE_CHARACTERS + 4 || length > MAX_LENGTH) {
+            throw invalid(notation, "unexpected length");
+        }
+        final var edges = BitBoard.initialEdges();
+        for (var character = 0; character < EDGE_CHARACTERS; character++) {
+            final var c = notation.charAt(character);
+            final var value = c < VALUES.length ? VALUES[c] : -1;
+            if (value < 0) {
+                throw invalid(notation, "unexpected character '" + c + "' of edges");
+            }
+            for (var bit = 0; bit < BITS_PER_CHARACTER; bit++) {
+                if ((value & (1 << bit)) == 0) {
+                    continue;
+                }
+                final var edge = character * BITS_PER_CHARACTER + bit;
+                if (edge >= BoardCodec.NUMBER_OF_EDGES) {
+                    throw invalid(notation, "unknown edge " + edge);
+                }
+                BoardCodec.draw(edges, edge);
+            }
+        }
+        var index = EDGE_CHARACTERS;
+        if (notation.charAt(index++) != ' ') {
+            throw invalid(notation, "missing space after edges");
+        }
+        var ballPosition = 0;
+        final var ballStart = index;
+        while (index < length && notation.charAt(index) >= '0' && notation.charAt(index) <= '9') {
+            ballPosition = ballPosition * 10 + notation.charAt(index++) - '0';
+        }
+        if (index == ballStart || index - ballStart > 3 || ballPosition >= BitBoard.NUMBER_OF_POINTS) {
+            throw invalid(notation, "ball position is not a point of the pitch");
+        }
+        if (index + 2 != length || notation.charAt(index) != ' ') {
+            throw invalid(notation, "missing player to move");
+        }
+        final var player = notation.charAt(index + 1);
+        if (player != '1' && player != '2') {
+            throw invalid(notation, "player to move must be 1 or 2");
+        }
+        final var provider = new PlayerProvider<>(first, second);
+        if (player == '2') {
+            provider.swap();
+        }
+        return BitBoard.of(edges, ballPosition, provider, new MoveHistory());
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence notation, final String reason) {
+        return new IllegalArgumentException("Invalid position notation '" + notation + "': " + reason);
+    }
+
+    private static int[] values() {
+        final var values = new int[128];
+        Arrays.fill(values, -1);
+        for (var i = 0; i < ALPHABET.length; i++) {
+            values[ALPHABET[i]] = i;
+        }
+        return values;
+    }
+}
@@ -1,5 +1,8 @@
 package io.github.lipinskipawel.board.engine;
 
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
 /**
  * The intention of this interface is transform board into different type.
  */
@@ -22,4 +25,72 @@ interface Transformation {
     int[] transform();
 
     double[] nonBinaryTransformation();
+
+    /**
+     * The same as {@link #transform()} but entries are written into the given array. Nothing is allocated.
+     *
+     * @param target array with at least 936 entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    default void transform(final int[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, Features.LENGTH, target.length);
+        System.arraycopy(transform(), 0, target, offset, Features.LENGTH);
+    }
+
+    /**
+     * The same as {@link #transform()} but entries are written into the given array as bytes of 1 and 0.
+     *
+     * @param target array with at least 936 entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    default void transform(final byte[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, Features.LENGTH, target.length);
+        final var entries = transform();
+        for (var i = 0; i < entries.length; i++) {
+            target[offset + i] = (byte) entries[i];
+        }
+    }
+
+    /**
+     * The same as {@link #transform(byte[], int)} but entries are put into the buffer starting from its position. The
+     * position is advanced by 936.
+     *
+     * @param target buffer with at least 936 remaining bytes
+     * @throws java.nio.BufferOverflowException when the buffer is too small, nothing is written then
+     */
+    default void transform(final ByteBuffer target) {
+        final var entries = new byte[Features.LENGTH];
+        transform(entries, 0);
+        target.put(entries);
+    }
+
+    /**
+     * The same as {@link #nonBinaryTransformation()} but entries are written into the given array. Nothing is
+     * allocated.
+     *
+     * @param target array with at least 936 entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    default void nonBinaryTransformation(final double[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, Features.LENGTH, target.length);
+        System.arraycopy(nonBinaryTransformation(), 0, target, offset, Features.LENGTH);
+    }
+
+    /**
+     * The same as {@link #nonBinaryTransformation(double[], int)} but entries are written as floats.
+     *
+     * @param target array with at least 936 entries starting from the offset
+     * @param offset index of the first entry to write
+     * @throws IndexOutOfBoundsException when the target is too small, nothing is written then
+     */
+    default void nonBinaryTransformation(final float[] target, final int offset) {
+        Objects.checkFromIndexSize(offset, Features.LENGTH, target.length);
+        final var entries = nonBinaryTransformation();
+        for (var i = 0; i < entries.length; i++) {
+            target[offset + i] = (float) entries[i];
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package io.github.lipinskipawel.board.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys of the Zobrist hashing. The key of the position is the XOR of:
+ * - the key of every half-edge whose state differs from the initial pitch, where the half-edge is the given
+ * {@link Direction} going out of the given point
+ * - the key of the ball position
+ * - the side key when the second player is to move
+ * <p>
+ * Making or undoing a direction changes at most two half-edges and the ball, so boards update the key with a few XORs
+ * instead of walking the whole pitch. Keys are drawn from the fixed seed, hence they are the same in every JVM.
+ */
+final class Zobrist {
+    private static final int NUMBER_OF_POINTS = 117;
+    private static final long SEED = 0x5EED_F007_BA11L;
+    private static final long[] HALF_EDGES = new long[NUMBER_OF_POINTS * 8];
+    private static final long[] BALL = new long[NUMBER_OF_POINTS];
+    private static final long SIDE;
+
+    static {
+        final var random = new SplittableRandom(SEED);
+        for (var i = 0; i < HALF_EDGES.length; i++) {
+            HALF_EDGES[i] = random.nextLong();
+        }
+        for (var i = 0; i < BALL.length; i++) {
+            BALL[i] = random.nextLong();
+        }
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    static long halfEdge(final int position, final int direction) {
+        return HALF_EDGES[(position << 3) + direction];
+    }
+
+    static long ball(final int position) {
+        return BALL[position];
+    }
+
+    static long side(final PlayerProvider<?> playerProvider) {
+        return playerProvider.current().equals(playerProvider.first()) ? 0 : SIDE;
+    }
+
+    /**
+     * Computes the key of edges and the ball from scratch. The side key is not included.
+     *
+     * @param edges        masks in the {@link BitBoard} layout
+     * @param ballPosition position of the ball
+     * @return key of edges and the ball
+     */
+    static long of(final long[] edges, final int ballPosition) {
+        final var initial = BitBoard.initialEdges();
+        var key = ball(ballPosition);
+        for (var i = 0; i < BitBoard.NUMBER_OF_LONGS; i++) {
+            final var direction = i / BitBoard.LONGS_PER_DIRECTION;
+            final var firstPosition = (i % BitBoard.LONGS_PER_DIRECTION) * Long.SIZE;
+            var changed = edges[i] ^ initial[i];
+            while (changed != 0) {
+                key ^= halfEdge(firstPosition + Long.numberOfTrailingZeros(changed), direction);
+                changed &= changed - 1;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Computes the whole key of the board from scratch out of its {@link Board#transform()}.
+     *
+     * @param board to compute the key of
+     * @return key of edges, the ball and the player to move
+     */
+    static long of(final Board<?> board) {
+        return of(BitBoard.edgesOf(board.transform()), board.getBallAPI().getPosition())
+            ^ side(board.getPlayerProvider());
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.lipinskipawel.board.training;
+
+import io.github.lipinskipawel.board.engine.Board;
+import io.github.lipinskipawel.board.engine.Boards;
+import io.github.lipinskipawel.board.engine.Move;
+import io.github.lipinskipawel.board.engine.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * This class is an API.
+ * This class replays games and writes one fixed-width record for every direction played in them into memory-mapped
+ * shard files. Every shard keeps at most the configured number of games. Games are replayed in parallel on the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, each game writes into its own precomputed range of the shard.
+ * <p>
+ * All numbers are little-endian. The shard file is laid out as follows:
+ * <pre>
+ * header, {@link #HEADER_SIZE} bytes
+ *   int   magic {@link #MAGIC}
+ *   int   version {@link #VERSION}
+ *   int   record size {@link #RECORD_SIZE}
+ *   int   features length {@link Boards#TRANSFORMATION_LENGTH}
+ *   int   number of games
+ *   int   reserved
+ *   long  number of records
+ *   long  offset of the first record
+ *   long  offset of the index
+ *   16 reserved bytes
+ * records, number of records * {@link #RECORD_SIZE} bytes
+ *   936 bytes  {@link Board#transform(ByteBuffer)} of the position before the direction has been played
+ *   byte       player to move, 0 for the first and 1 for the second player
+ *   byte       {@link io.github.lipinskipawel.board.engine.Direction#ordinal()} of the played direction
+ *   byte       winner of the game, 0 for the first, 1 for the second player and 2 when the game is not finished
+ *   byte       reserved
+ *   int        index of the game inside the shard
+ * index, (number of games + 1) longs
+ *   number of the first record of every game, the last entry is the number of records
+ * </pre>
+ * The trainer can map the whole file and read records by their offsets without any parsing.
+ */
+public final class TrainingDataExporter {
+    public static final int MAGIC = 0x44544746;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = Boards.TRANSFORMATION_LENGTH + 8;
+    private static final byte NO_WINNER = 2;
+    private static final int PLAYER_OFFSET = Boards.TRANSFORMATION_LENGTH;
+    private static final int DIRECTION_OFFSET = PLAYER_OFFSET + 1;
+    private static final int WINNER_OFFSET = PLAYER_OFFSET + 2;
+    private static final int GAME_OFFSET = PLAYER_OFFSET + 4;
+    private final Path directory;
+    private final int gamesPerShard;
+
+    /**
+     * @param directory     where shard files will be created
+     * @param gamesPerShard maximum number of games kept in a single shard
+     */
+    public TrainingDataExporter(final Path directory, final int gamesPerShard) {
+        if (gamesPerShard < 1) {
+            throw new IllegalArgumentException("Number of games per shard must be positive but was " + gamesPerShard);
+        }
+        this.directory = Objects.requireNonNull(directory);
+        this.gamesPerShard = gamesPerShard;
+    }
+
+    /**
+     * This method replays all games from the beginning of the game and writes them into shards named
+     * {@code shard-00000.fgtd}, {@code shard-00001.fgtd} and so on. Existing shards with the same names are replaced.
+     * Sizes of all shards are checked before any shard is created. When the export fails, shards created by it are
+     * deleted.
+     *
+     * @param games to export, every game is a list of moves played from the beginning
+     * @return paths of written shards in order
+     * @throws IOException              when shards can not be written
+     * @throws IllegalArgumentException when any of games contains a direction which is not allowed or any shard
+     *                                  would take more than {@link Integer#MAX_VALUE} bytes
+     */
+    public List<Path> export(final List<List<Move>> games) throws IOException {
+        final var shards = new ArrayList<Shard>();
+        for (var first = 0; first < games.size(); first += this.gamesPerShard) {
+            final var shardGames = games.subList(first, Math.min(games.size(), first + this.gamesPerShard));
+            shards.add(Shard.plan(this.directory.resolve(String.format("shard-%05d.fgtd", shards.size())), shardGames));
+        }
+        Files.createDirectories(this.directory);
+        try {
+            for (var shard : shards) {
+                shard.create();
+            }
+            IntStream.range(0, games.size())
+                .parallel()
+                .forEach(game -> shards.get(game / this.gamesPerShard).writeGame(game % this.gamesPerShard));
+            final var paths = new ArrayList<Path>();
+            for (var shard : shards) {
+                shard.finish();
+                paths.add(shard.path);
+            }
+            return paths;
+        } catch (IOException | RuntimeException e) {
+            for (var shard : shards) {
+                shard.delete(e);
+            }
+            throw e;
+        }
+    }
+
+    private static final class Shard {
+        private final Path path;
+        private final List<List<Move>> games;
+        private final long[] firstRecords;
+        private final long size;
+        private boolean isCreated;
+        private MappedByteBuffer buffer;
+
+        private Shard(final Path path, final List<List<Move>> games, final long[] firstRecords, final long size) {
+            this.path = path;
+            this.games = games;
+            this.firstRecords = firstRecords;
+            this.size = size;
+        }
+
+        private static Shard plan(final Path path, final List<List<Move>> games) {
+            final var firstRecords = new long[games.size() + 1];
+            for (var game = 0; game < games.size(); game++) {
+                var directions = 0L;
+                for (var move : games.get(game)) {
+                    directions += move.size();
+                }
+                firstRecords[game + 1] = firstRecords[game] + directions;
+            }
+            final var size = HEADER_SIZE + firstRecords[games.size()] * RECORD_SIZE + (long) firstRecords.length * Long.BYTES;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Shard " + path + " would take " + size + " bytes, use less games per shard");
+            }
+            return new Shard(path, games, firstRecords, size);
+        }
+
+        private void create() throws IOException {
+            try (var channel = FileChannel.open(this.path, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+                this.isCreated = true;
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.size);
+                this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        private void delete(final Exception cause) {
+            if (!this.isCreated) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        private void writeGame(final int game) {
+            final var records = this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            final var firstRecord = HEADER_SIZE + (int) this.firstRecords[game] * RECORD_SIZE;
+            var record = firstRecord;
+            Board<Player> board = Boards.bitBoard();
+            for (var move : this.games.get(game)) {
+                for (var i = 0; i < move.size(); i++) {
+                    final var direction = move.directionAt(i);
+                    if (!board.isMoveAllowed(direction)) {
+                        throw new IllegalArgumentException("Game " + game + " of " + this.path + " contains not allowed direction " + direction);
+                    }
+                    records.position(record);
+                    board.transform(records);
+                    records.put(record + PLAYER_OFFSET, (byte) (board.getPlayer() == Player.FIRST ? 0 : 1));
+                    records.put(record + DIRECTION_OFFSET, (byte) direction.ordinal());
+                    records.putInt(record + GAME_OFFSET, game);
+                    board = board.executeMove(direction);
+                    record += RECORD_SIZE;
+                }
+            }
+            final var winner = board.takeTheWinner()
+                .map(player -> (byte) (player == Player.FIRST ? 0 : 1))
+                .orElse(NO_WINNER);
+            for (var offset = firstRecord; offset < record; offset += RECORD_SIZE) {
+                records.put(offset + WINNER_OFFSET, winner);
+            }
+        }
+
+        private void finish() {
+            final var numberOfGames = this.games.size();
+            final var numberOfRecords = this.firstRecords[numberOfGames];
+            final var indexOffset = HEADER_SIZE + numberOfRecords * RECORD_SIZE;
+            this.buffer.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, RECORD_SIZE)
+                .putInt(12, Boards.TRANSFORMATION_LENGTH)
+                .putInt(16, numberOfGames)
+                .putLong(24, numberOfRecords)
+                .putLong(32, HEADER_SIZE)
+                .putLong(40, indexOffset);
+            for (var game = 0; game <= numberOfGames; game++) {
+                this.buffer.putLong((int) indexOffset + game * Long.BYTES, this.firstRecords[game]);
+            }
+            this.buffer.force();
+        }
+    }
+}
@@ -4,6 +4,8 @@ module football.game.engine {
     exports io.github.lipinskipawel.board.ai;
     exports io.github.lipinskipawel.board.ai.bruteforce;
     exports io.github.lipinskipawel.board.engine.exception;
+    exports io.github.lipinskipawel.board.training;
+    exports io.github.lipinskipawel.board.archive;
 
     opens io.github.lipinskipawel.board.engine;
     opens io.github.lipinskipawel.board.ai.bruteforce;
@@ -0,0 +1,140 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import io.github.lipinskipawel.board.ai.MoveStrategy;
+import io.github.lipinskipawel.board.engine.Board;
+import io.github.lipinskipawel.board.engine.Boards;
+import io.github.lipinskipawel.board.engine.Player;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.NE;
+import static io.github.lipinskipawel.board.engine.Direction.NW;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.SE;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+import static io.github.lipinskipawel.board.engine.Player.FIRST;
+import static io.github.lipinskipawel.board.engine.Player.SECOND;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Every strategy built by {@link DefaultMoveStrategyBuilder} searches the same tree, so all of them are checked by the
+ * same tests.
+ */
+@DisplayName("API -- brute force strategies")
+final class BruteForceStrategiesTest implements WithAssertions {
+
+    private final SmartBoardEvaluator evaluator = new SmartBoardEvaluator();
+    private final List<MoveStrategy> strategies = List.of(
+        MoveStrategy
+            .defaultMoveStrategyBuilder()
+            .withBoardEvaluator(evaluator)
+            .withTimeoutInSeconds(5)
+            .withDepth(3)
+            .build(),
+        MoveStrategy
+            .defaultMoveStrategyBuilder()
+            .withBoardEvaluator(evaluator)
+            .withYoungBrothersWait()
+            .withThreads(4)
+            .withTimeoutInSeconds(5)
+            .withDepth(3)
+            .build()
+    );
+    private final Board<Player> board = Boards.immutableBoard();
+
+    @Test
+    @DisplayName("should score the goal when player FIRST")
+    void scoreAGoal() {
+        final var after4Moves = board
+            .executeMove(N)
+            .executeMove(N)
+            .executeMove(N)
+            .executeMove(N);
+
+        for (final var strategy : strategies) {
+            final var afterAiMove = after4Moves.executeMove(strategy.searchForTheBestMove(after4Moves));
+
+            assertThat(afterAiMove.isGoal()).as("goal of %s", strategy).isTrue();
+            assertThat(afterAiMove.getPlayer()).as("player after %s", strategy).isEqualByComparingTo(SECOND);
+        }
+    }
+
+    @Test
+    @DisplayName("should NOT score the goal when player FIRST")
+    void shouldNotMakeSuicideMove() {
+        final var after5Moves = board
+            .executeMove(N)
+            .executeMove(N)
+            .executeMove(N)
+            .executeMove(N)
+            .executeMove(N);
+
+        for (final var strategy : strategies) {
+            final var afterAiMove = after5Moves.executeMove(strategy.searchForTheBestMove(after5Moves));
+
+            assertThat(afterAiMove.isGoal()).as("goal of %s", strategy).isFalse();
+            assertThat(afterAiMove.getPlayer()).as("player after %s", strategy).isEqualByComparingTo(FIRST);
+        }
+    }
+
+    @Test
+    @DisplayName("should score a goal when player SECOND")
+    void scoreAGoalInSecondDay() {
+        final var after5Moves = board
+            .executeMove(S)
+            .executeMove(S)
+            .executeMove(S)
+            .executeMove(S)
+            .executeMove(S);
+
+        for (final var strategy : strategies) {
+            final var afterAiMove = after5Moves.executeMove(strategy.searchForTheBestMove(after5Moves));
+
+            assertThat(afterAiMove.isGoal()).as("goal of %s", strategy).isTrue();
+            assertThat(afterAiMove.takeTheWinner()).as("winner after %s", strategy).contains(SECOND);
+        }
+    }
+
+    @Test
+    @DisplayName("should find the move with the same score as plain minimax")
+    void shouldMatchPlainMinimax() {
+        final var positions = List.of(
+            board.executeMove(N).executeMove(N).executeMove(N).executeMove(N),
+            board.executeMove(N).executeMove(N).executeMove(N).executeMove(N).executeMove(N),
+            board.executeMove(S).executeMove(S).executeMove(S).executeMove(S),
+            board.executeMove(S).executeMove(S).executeMove(S).executeMove(S).executeMove(S),
+            board.executeMove(NE).executeMove(S).executeMove(NE).executeMove(NE).executeMove(NW)
+                .executeMove(NE).executeMove(N).executeMove(SE).executeMove(W).executeMove(W),
+            board.executeMove(N).executeMove(E).executeMove(S).executeMove(S)
+                .executeMove(W).executeMove(W).executeMove(N).executeMove(N)
+        );
+
+        for (final var strategy : strategies) {
+            for (final var position : positions) {
+                final var bestMove = strategy.searchForTheBestMove(position);
+
+                assertThat(plainMinimax(position.executeMove(bestMove), 2))
+                    .as("score of the best move of %s on %s", strategy, position)
+                    .isEqualTo(plainMinimax(position, 3));
+            }
+        }
+    }
+
+    private double plainMinimax(final Board<?> position, final int depth) {
+        if (depth <= 0 || position.isGameOver()) {
+            return evaluator.evaluate(position);
+        }
+        final var maximizingPlayer = position.getPlayer().equals(position.getPlayerProvider().first());
+        var best = maximizingPlayer ? -Double.MAX_VALUE : Double.MAX_VALUE;
+        for (final var move : position.distinctLegalMoves().collect(toList())) {
+            final var score = plainMinimax(position.executeMove(move), depth - 1);
+            best = maximizingPlayer ? Math.max(best, score) : Math.min(best, score);
+        }
+        return best;
+    }
+}
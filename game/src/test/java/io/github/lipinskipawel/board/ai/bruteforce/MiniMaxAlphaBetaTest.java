@@ -13,8 +13,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.github.lipinskipawel.board.engine.Direction.E;
 import static io.github.lipinskipawel.board.engine.Direction.N;
@@ -136,6 +138,121 @@ class MiniMaxAlphaBetaTest implements WithAssertions {
         }
     }
 
+    @Nested
+    @DisplayName("iterative deepening")
+    class IterativeDeepening {
+
+        private final MoveStrategy withBudget = MoveStrategy
+            .defaultMoveStrategyBuilder()
+            .withBoardEvaluator(new SmartBoardEvaluator())
+            .withTimeoutInMillis(200)
+            .withDepth(20)
+            .build();
+
+        @Test
+        @DisplayName("should return the move within the millisecond budget")
+        void shouldReturnWithinBudget() {
+            final var complicatedBoard = complicatedBoard();
+
+            final var start = System.nanoTime();
+            final var aiMove = withBudget.searchForTheBestMove(complicatedBoard);
+            final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertAll(
+                () -> Assertions.assertThat(complicatedBoard.legalMoves().anyMatch(aiMove::equals)).isTrue(),
+                () -> Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(2))
+            );
+        }
+
+        @Test
+        @DisplayName("should return the best move of the last completed iteration when the time is up")
+        void shouldScoreTheGoalWhenTimeIsUp() {
+            final var after4Moves = board
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N);
+
+            final var bestMove = withBudget.searchForTheBestMove(after4Moves);
+            final var afterAiMove = after4Moves.executeMove(bestMove);
+
+            Assertions.assertThat(afterAiMove.isGoal()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lazy SMP")
+    class LazySmp {
+
+        private final MoveStrategy withThreads = MoveStrategy
+            .defaultMoveStrategyBuilder()
+            .withBoardEvaluator(new SmartBoardEvaluator())
+            .withThreads(4)
+            .withTimeoutInMillis(200)
+            .withDepth(20)
+            .build();
+
+        @Test
+        @DisplayName("should score the goal when searched by many threads")
+        void shouldScoreTheGoal() {
+            final var after5Moves = board
+                .executeMove(S)
+                .executeMove(S)
+                .executeMove(S)
+                .executeMove(S)
+                .executeMove(S);
+
+            final var bestMove = withThreads.searchForTheBestMove(after5Moves);
+            final var afterAiMove = after5Moves.executeMove(bestMove);
+
+            assertAll(
+                () -> Assertions.assertThat(afterAiMove.isGoal()).isTrue(),
+                () -> Assertions.assertThat(afterAiMove.takeTheWinner().get()).isEqualByComparingTo(SECOND)
+            );
+        }
+
+        @Test
+        @DisplayName("should return legal move on complicated board")
+        void shouldReturnLegalMove() {
+            final var complicatedBoard = complicatedBoard();
+
+            final var aiMove = withThreads.searchForTheBestMove(complicatedBoard);
+
+            Assertions.assertThat(complicatedBoard.legalMoves().anyMatch(aiMove::equals)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not accept non-positive number of threads")
+        void shouldThrowForNonPositiveThreads() {
+            assertThatThrownBy(() -> MoveStrategy.defaultMoveStrategyBuilder().withThreads(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("transposition table")
+    class TranspositionTableStatisticsTest {
+
+        @Test
+        @DisplayName("should report statistics of the transposition table after the search")
+        void shouldReportStatistics() {
+            final var reported = new AtomicReference<TranspositionTableStatistics>();
+            final var strategy = MoveStrategy
+                .defaultMoveStrategyBuilder()
+                .withTranspositionTableSizeInMegabytes(1)
+                .withTranspositionTableListener(reported::set)
+                .build();
+
+            strategy.searchForTheBestMove(board.executeMove(N).executeMove(N));
+
+            assertAll(
+                () -> Assertions.assertThat(reported.get().probes()).isPositive(),
+                () -> Assertions.assertThat(reported.get().hits()).isLessThanOrEqualTo(reported.get().probes()),
+                () -> Assertions.assertThat(reported.get().cutoffs()).isLessThanOrEqualTo(reported.get().hits())
+            );
+        }
+    }
+
     @Nested
     @DisplayName("Smart evaluator")
     class SmartEvaluator {
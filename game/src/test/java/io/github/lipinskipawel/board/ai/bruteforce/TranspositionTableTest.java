@@ -0,0 +1,114 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static io.github.lipinskipawel.board.ai.bruteforce.TranspositionTable.EXACT;
+import static io.github.lipinskipawel.board.ai.bruteforce.TranspositionTable.LOWER_BOUND;
+import static io.github.lipinskipawel.board.ai.bruteforce.TranspositionTable.NO_MOVE;
+import static io.github.lipinskipawel.board.ai.bruteforce.TranspositionTable.UPPER_BOUND;
+
+@DisplayName("Internal -- TranspositionTable")
+class TranspositionTableTest implements WithAssertions {
+    // all three keys fall into the same bucket
+    private static final long FIRST_KEY = 1L;
+    private static final long SECOND_KEY = 1L << 32;
+    private static final long THIRD_KEY = 2L | 3L << 32;
+
+    private final TranspositionTable table = new TranspositionTable(1);
+    private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+
+    @Test
+    @DisplayName("should find stored entry")
+    void shouldFindStoredEntry() {
+        table.store(FIRST_KEY, 4, LOWER_BOUND, -12.5, 7);
+
+        final var found = table.probe(FIRST_KEY, entry);
+
+        assertThat(found).isTrue();
+        assertThat(entry.depth).isEqualTo(4);
+        assertThat(entry.bound).isEqualTo(LOWER_BOUND);
+        assertThat(entry.score).isEqualTo(-12.5);
+        assertThat(entry.bestMove).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("should not find position which has not been stored")
+    void shouldNotFindMissingEntry() {
+        table.store(FIRST_KEY, 4, EXACT, 10, NO_MOVE);
+
+        assertThat(table.probe(SECOND_KEY, entry)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should throw exception when size is not positive")
+    void shouldThrowForNonPositiveSize() {
+        assertThatThrownBy(() -> new TranspositionTable(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Nested
+    @DisplayName("replacement")
+    class Replacement {
+
+        @Test
+        @DisplayName("should keep deeper entry and store shallower one in always-replace entry")
+        void shouldKeepDeeperEntry() {
+            table.store(FIRST_KEY, 5, EXACT, 1, NO_MOVE);
+            table.store(SECOND_KEY, 2, EXACT, 2, NO_MOVE);
+            table.store(THIRD_KEY, 1, EXACT, 3, NO_MOVE);
+
+            assertThat(table.probe(FIRST_KEY, entry)).isTrue();
+            assertThat(entry.score).isEqualTo(1);
+            assertThat(table.probe(SECOND_KEY, entry)).isFalse();
+            assertThat(table.probe(THIRD_KEY, entry)).isTrue();
+            assertThat(entry.score).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should replace deeper entry of older search")
+        void shouldReplaceEntryOfOlderSearch() {
+            table.store(FIRST_KEY, 5, EXACT, 1, NO_MOVE);
+            table.newSearch();
+            table.store(SECOND_KEY, 2, UPPER_BOUND, 2, NO_MOVE);
+            table.store(THIRD_KEY, 1, EXACT, 3, NO_MOVE);
+
+            assertThat(table.probe(FIRST_KEY, entry)).isFalse();
+            assertThat(table.probe(SECOND_KEY, entry)).isTrue();
+            assertThat(entry.bound).isEqualTo(UPPER_BOUND);
+            assertThat(table.probe(THIRD_KEY, entry)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should update the same position in depth-preferred entry")
+        void shouldUpdateSamePosition() {
+            table.store(FIRST_KEY, 5, EXACT, 1, NO_MOVE);
+            table.store(FIRST_KEY, 3, LOWER_BOUND, 4, 2);
+
+            assertThat(table.probe(FIRST_KEY, entry)).isTrue();
+            assertThat(entry.depth).isEqualTo(3);
+            assertThat(entry.score).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("should report hit and cutoff rates")
+    void shouldReportRates() {
+        table.store(FIRST_KEY, 1, EXACT, 0, NO_MOVE);
+        table.probe(FIRST_KEY, entry);
+        table.cutoff();
+        table.probe(SECOND_KEY, entry);
+        table.probe(THIRD_KEY, entry);
+        table.probe(FIRST_KEY, entry);
+
+        final var statistics = table.statistics();
+
+        assertThat(statistics.probes()).isEqualTo(4);
+        assertThat(statistics.hits()).isEqualTo(2);
+        assertThat(statistics.cutoffs()).isEqualTo(1);
+        assertThat(statistics.hitRate()).isEqualTo(0.5);
+        assertThat(statistics.cutoffRate()).isEqualTo(0.25);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.lipinskipawel.board.ai.bruteforce;
+
+import io.github.lipinskipawel.board.ai.MoveStrategy;
+import io.github.lipinskipawel.board.engine.Board;
+import io.github.lipinskipawel.board.engine.Boards;
+import io.github.lipinskipawel.board.engine.Player;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+
+@DisplayName("API -- Young Brothers Wait")
+class YoungBrothersWaitTest implements WithAssertions {
+
+    private final MoveStrategy strategy = MoveStrategy
+        .defaultMoveStrategyBuilder()
+        .withBoardEvaluator(new SmartBoardEvaluator())
+        .withYoungBrothersWait()
+        .withThreads(4)
+        .withTimeoutInSeconds(5)
+        .withDepth(3)
+        .build();
+    private final Board<Player> board = Boards.immutableBoard();
+
+    @Test
+    @DisplayName("should build Young Brothers Wait strategy")
+    void shouldBuildStrategy() {
+        assertThat(strategy).isInstanceOf(YoungBrothersWait.class);
+    }
+
+    @Test
+    @DisplayName("should return legal move within the millisecond budget")
+    void shouldReturnLegalMoveWithinBudget() {
+        final var withBudget = MoveStrategy
+            .defaultMoveStrategyBuilder()
+            .withYoungBrothersWait()
+            .withThreads(4)
+            .withTimeoutInMillis(200)
+            .withDepth(20)
+            .build();
+        final var semiComplicatedBoard = board
+            .executeMove(N)
+            .executeMove(E)
+            .executeMove(S)
+            .executeMove(S)
+            .executeMove(W)
+            .executeMove(W)
+            .executeMove(N)
+            .executeMove(N);
+
+        final var aiMove = withBudget.searchForTheBestMove(semiComplicatedBoard);
+
+        assertThat(semiComplicatedBoard.allLegalMoves()).contains(aiMove);
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.lipinskipawel.board.archive;
+
+import io.github.lipinskipawel.board.engine.Direction;
+import io.github.lipinskipawel.board.engine.Move;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DisplayName("API -- GameArchive")
+final class GameArchiveTest implements WithAssertions {
+
+    private static final List<Move> WON_BY_FIRST = List.of(
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.NW, Direction.NE))
+    );
+    private static final List<Move> NOT_FINISHED = List.of(
+        new Move(List.of(Direction.S)),
+        new Move(List.of(Direction.E))
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("should read appended games")
+    void shouldReadAppendedGames() throws IOException {
+        try (var writer = GameArchiveWriter.open(directory)) {
+            writer.append(WON_BY_FIRST);
+            writer.append(NOT_FINISHED);
+        }
+
+        final var reader = GameArchiveReader.open(directory);
+
+        assertThat(reader.numberOfGames()).isEqualTo(2);
+        assertThat(reader.games().map(ArchivedGame::moves).collect(Collectors.toList()))
+            .containsExactly(WON_BY_FIRST, NOT_FINISHED);
+    }
+
+    @Test
+    @DisplayName("should jump to the given game without reading others")
+    void shouldJumpToGame() throws IOException {
+        try (var writer = GameArchiveWriter.open(directory)) {
+            writer.append(NOT_FINISHED);
+            writer.append(WON_BY_FIRST);
+            writer.append(NOT_FINISHED);
+        }
+
+        final var game = GameArchiveReader.open(directory).game(1);
+
+        assertThat(game.number()).isEqualTo(1);
+        assertThat(game.numberOfMoves()).isEqualTo(5);
+        assertThat(game.numberOfDirections()).isEqualTo(6);
+        assertThat(game.moveSize(4)).isEqualTo(2);
+        assertThat(game.directionAt(5)).isEqualByComparingTo(Direction.NE);
+    }
+
+    @Test
+    @DisplayName("should append games to the existing archive")
+    void shouldAppendToExistingArchive() throws IOException {
+        try (var writer = GameArchiveWriter.open(directory)) {
+            writer.append(WON_BY_FIRST);
+        }
+        try (var writer = GameArchiveWriter.open(directory)) {
+            assertThat(writer.append(NOT_FINISHED)).isEqualTo(1);
+        }
+
+        final var reader = GameArchiveReader.open(directory);
+
+        assertThat(reader.game(0).moves()).isEqualTo(WON_BY_FIRST);
+        assertThat(reader.game(1).moves()).isEqualTo(NOT_FINISHED);
+    }
+
+    @Test
+    @DisplayName("should pack directions of long games")
+    void shouldPackDirectionsOfLongGames() throws IOException {
+        final var game = new ArrayList<Move>();
+        for (var i = 0; i < 30; i++) {
+            game.add(new Move(List.of(Direction.values()[i % 8], Direction.values()[(i + 3) % 8])));
+        }
+        try (var writer = GameArchiveWriter.open(directory)) {
+            writer.append(game);
+        }
+
+        assertThat(GameArchiveReader.open(directory).game(0).moves()).isEqualTo(game);
+        assertThat(Files.size(directory.resolve(GameArchiveWriter.DATA_FILE)))
+            .isEqualTo(GameArchiveWriter.HEADER_SIZE + 4 + 30 * 2 + 3 * 8);
+    }
+
+    @Test
+    @DisplayName("should read games in parallel")
+    void shouldReadGamesInParallel() throws IOException {
+        try (var writer = GameArchiveWriter.open(directory)) {
+            for (var i = 0; i < 1000; i++) {
+                writer.append(i % 2 == 0 ? WON_BY_FIRST : NOT_FINISHED);
+            }
+        }
+
+        final var directions = GameArchiveReader.open(directory)
+            .games(100, 900)
+            .parallel()
+            .mapToInt(ArchivedGame::numberOfDirections)
+            .sum();
+
+        assertThat(directions).isEqualTo(400 * 6 + 400 * 2);
+    }
+
+    @Test
+    @DisplayName("should not give games out of the archive")
+    void shouldNotGiveGamesOutOfArchive() throws IOException {
+        try (var writer = GameArchiveWriter.open(directory)) {
+            writer.append(NOT_FINISHED);
+        }
+
+        final var reader = GameArchiveReader.open(directory);
+
+        assertThatThrownBy(() -> reader.game(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.NE;
+import static io.github.lipinskipawel.board.engine.Direction.NW;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.SE;
+import static io.github.lipinskipawel.board.engine.Direction.SW;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@DisplayName("API -- BitBoard")
+class BitBoardTest extends BoardContractTest {
+
+    private final Board<Player> immutableBoard = Boards.immutableBoard();
+
+    @Override
+    <T> Board<T> emptyBoard(final T first, final T second) {
+        return Boards.bitBoardWithCustomPlayer(first, second);
+    }
+
+    @Nested
+    @DisplayName("same as ImmutableBoard")
+    class SameAsImmutableBoard {
+
+        @Test
+        @DisplayName("transformations of empty board are the same as in LogicalPoints")
+        void sameTransformationAsLogicalPoints() {
+            final var logicalPoints = new LogicalPoints();
+
+            assertAll(
+                () -> Assertions.assertThat(board.transform()).containsExactly(logicalPoints.transform()),
+                () -> Assertions.assertThat(board.nonBinaryTransformation())
+                    .containsExactly(logicalPoints.nonBinaryTransformation())
+            );
+        }
+
+        @Test
+        @DisplayName("should keep the same state after every direction")
+        void shouldKeepTheSameState() {
+            final var directions = List.of(N, SE, W, NE, W, SW, E, NW, S, SE, N, SW, E, E, S, S, W, SW, NE, S);
+            var bitBoard = board;
+            var referenceBoard = immutableBoard;
+
+            for (var direction : directions) {
+                bitBoard = bitBoard.executeMove(direction);
+                referenceBoard = referenceBoard.executeMove(direction);
+
+                assertTheSameState(bitBoard, referenceBoard);
+            }
+        }
+
+        @Test
+        @DisplayName("should find the same legal moves")
+        void shouldFindTheSameLegalMoves() {
+            final var bitBoard = board
+                .executeMove(N)
+                .executeMove(E)
+                .executeMove(SW)
+                .executeMove(SW)
+                .executeMove(E);
+            final var referenceBoard = immutableBoard
+                .executeMove(N)
+                .executeMove(E)
+                .executeMove(SW)
+                .executeMove(SW)
+                .executeMove(E);
+
+            Assertions.assertThat(bitBoard.allLegalMoves())
+                .containsExactlyInAnyOrderElementsOf(referenceBoard.allLegalMoves());
+        }
+
+        @Test
+        @DisplayName("should have the same allowedDirectionMask after every direction")
+        void allowedDirectionMaskShouldBeTheSame() {
+            final var directions = List.of(N, SE, W, NE, W, SW, E, NW, S, SE);
+            var bitBoard = board;
+            var referenceBoard = immutableBoard;
+
+            for (var direction : directions) {
+                bitBoard = bitBoard.executeMove(direction);
+                referenceBoard = referenceBoard.executeMove(direction);
+
+                Assertions.assertThat(bitBoard.allowedDirectionMask()).isEqualTo(referenceBoard.allowedDirectionMask());
+                Assertions.assertThat(Direction.fromMask(bitBoard.allowedDirectionMask()))
+                    .isEqualTo(bitBoard.getBallAPI().getAllowedDirection());
+            }
+        }
+
+        @Test
+        @DisplayName("should have the same positionKey after every direction")
+        void positionKeyShouldBeTheSame() {
+            final var directions = List.of(N, SE, W, NE, W, SW, E, NW, S, SE, N, SW, E, E, S, S, W, SW, NE, S);
+            var bitBoard = board;
+            var referenceBoard = immutableBoard;
+
+            for (var direction : directions) {
+                bitBoard = bitBoard.executeMove(direction);
+                referenceBoard = referenceBoard.executeMove(direction);
+
+                Assertions.assertThat(bitBoard.positionKey()).isEqualTo(referenceBoard.positionKey());
+            }
+        }
+
+        private void assertTheSameState(final Board<Player> bitBoard, final Board<Player> referenceBoard) {
+            assertAll(
+                () -> Assertions.assertThat(bitBoard.getBallPosition()).isEqualTo(referenceBoard.getBallPosition()),
+                () -> Assertions.assertThat(bitBoard.getBallAPI()).isEqualTo(referenceBoard.getBallAPI()),
+                () -> Assertions.assertThat(bitBoard.getPlayer()).isEqualTo(referenceBoard.getPlayer()),
+                () -> Assertions.assertThat(bitBoard.moveHistory()).isEqualTo(referenceBoard.moveHistory()),
+                () -> Assertions.assertThat(bitBoard.allMoves()).isEqualTo(referenceBoard.allMoves()),
+                () -> Assertions.assertThat(bitBoard.isGameOver()).isEqualTo(referenceBoard.isGameOver()),
+                () -> Assertions.assertThat(bitBoard.takeTheWinner()).isEqualTo(referenceBoard.takeTheWinner()),
+                () -> Assertions.assertThat(bitBoard.transform()).containsExactly(referenceBoard.transform())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("without ancestors")
+    class WithoutAncestors {
+
+        @Test
+        @DisplayName("should keep the goal closed when the board restored without ancestors is undone")
+        void shouldKeepGoalClosedAfterUndoOfRestoredBoard() {
+            final var beforeGoal = board
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(NW);
+            final var goal = beforeGoal.executeMove(NE);
+            final var buffer = ByteBuffer.allocate(BoardCodec.encodedSize(goal, true));
+            BoardCodec.encode(goal, buffer);
+
+            final var undone = BoardCodec.decode(buffer.flip()).undo();
+
+            Assertions.assertThat(goal.isGoal()).isTrue();
+            Assertions.assertThat(undone).isEqualTo(beforeGoal);
+            Assertions.assertThat(undone.positionKey()).isEqualTo(beforeGoal.positionKey());
+            Assertions.assertThat(undone.transform()).isEqualTo(beforeGoal.transform());
+        }
+
+        @Test
+        @DisplayName("should replay the whole game")
+        void shouldReplayWholeGame() {
+            final var game = List.of(
+                new Move(List.of(N)),
+                new Move(List.of(N)),
+                new Move(List.of(N)),
+                new Move(List.of(N)),
+                new Move(List.of(NW, NE))
+            );
+            var expected = board;
+            for (var move : game) {
+                expected = expected.executeMove(move);
+            }
+
+            final var replayed = Boards.replay(game);
+
+            Assertions.assertThat(replayed).isEqualTo(expected);
+            Assertions.assertThat(replayed.moveHistory()).containsExactlyElementsOf(game);
+            Assertions.assertThat(replayed.takeTheWinner()).contains(Player.FIRST);
+        }
+    }
+}
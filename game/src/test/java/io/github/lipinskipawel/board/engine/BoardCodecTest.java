@@ -0,0 +1,146 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.NE;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.SW;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+
+@DisplayName("API -- BoardCodec")
+class BoardCodecTest {
+
+    private static Board<Player> playedBoard() {
+        return Boards.bitBoard()
+            .executeMove(N)
+            .executeMove(E)
+            .executeMove(SW)
+            .executeMove(W)
+            .executeMove(NE);
+    }
+
+    @Nested
+    @DisplayName("board")
+    class EncodeBoard {
+
+        @Test
+        @DisplayName("should decode the same board with the history")
+        void shouldDecodeTheSameBoardWithHistory() {
+            final var board = playedBoard();
+            final var buffer = ByteBuffer.allocate(BoardCodec.encodedSize(board, true));
+
+            BoardCodec.encode(board, buffer);
+            final var decoded = BoardCodec.decode(buffer.flip());
+
+            Assertions.assertThat(buffer.hasRemaining()).isFalse();
+            Assertions.assertThat(decoded).isEqualTo(board);
+            Assertions.assertThat(decoded.moveHistory()).containsExactlyElementsOf(board.moveHistory());
+            Assertions.assertThat(decoded.undo()).isEqualTo(board.undo());
+        }
+
+        @Test
+        @DisplayName("should decode the same position without the history")
+        void shouldDecodeTheSamePositionWithoutHistory() {
+            final var board = playedBoard();
+            final var buffer = ByteBuffer.allocateDirect(BoardCodec.BOARD_WITHOUT_HISTORY_SIZE);
+
+            BoardCodec.encode(board, buffer, false);
+            final var decoded = BoardCodec.decode(buffer.flip());
+
+            Assertions.assertThat(decoded.transform()).isEqualTo(board.transform());
+            Assertions.assertThat(decoded.getBallPosition()).isEqualTo(board.getBallPosition());
+            Assertions.assertThat(decoded.getPlayer()).isEqualTo(board.getPlayer());
+            Assertions.assertThat(decoded.positionKey()).isEqualTo(board.positionKey());
+            Assertions.assertThat(decoded.allMoves()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should decode the immutableBoard with custom players regardless of the buffer order")
+        void shouldDecodeImmutableBoardWithCustomPlayers() {
+            final var board = Boards.immutableBoardWithCustomPlayer("first", "second")
+                .executeMove(S)
+                .executeMove(W)
+                .executeMove(N);
+            final var buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+            BoardCodec.encode(board, buffer);
+            final var decoded = BoardCodec.decode(buffer.flip().order(ByteOrder.BIG_ENDIAN), "first", "second");
+
+            Assertions.assertThat(decoded.getPlayer()).isEqualTo("second");
+            Assertions.assertThat(decoded.transform()).isEqualTo(board.transform());
+            Assertions.assertThat(decoded.allMoves()).containsExactly(S, W, N);
+        }
+
+        @Test
+        @DisplayName("should not write anything when the buffer is too small")
+        void shouldNotWriteIntoTooSmallBuffer() {
+            final var buffer = ByteBuffer.allocate(BoardCodec.BOARD_WITHOUT_HISTORY_SIZE);
+
+            Assertions.assertThatThrownBy(() -> BoardCodec.encode(playedBoard(), buffer))
+                .isInstanceOf(BufferOverflowException.class);
+            Assertions.assertThat(buffer.position()).isZero();
+        }
+
+        @Test
+        @DisplayName("should reject unknown version")
+        void shouldRejectUnknownVersion() {
+            final var buffer = ByteBuffer.allocate(BoardCodec.BOARD_WITHOUT_HISTORY_SIZE);
+            BoardCodec.encode(playedBoard(), buffer, false);
+            buffer.put(0, (byte) (BoardCodec.VERSION + 1));
+
+            Assertions.assertThatThrownBy(() -> BoardCodec.decode(buffer.flip()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should reject history which does not lead to the encoded pitch")
+        void shouldRejectInconsistentHistory() {
+            final var board = playedBoard();
+            final var buffer = ByteBuffer.allocate(BoardCodec.encodedSize(board, true));
+            BoardCodec.encode(board, buffer);
+            buffer.put(2, (byte) BitBoard.STARTING_BALL_POSITION);
+
+            Assertions.assertThatThrownBy(() -> BoardCodec.decode(buffer.flip()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("move")
+    class EncodeMove {
+
+        @Test
+        @DisplayName("should decode the same move")
+        void shouldDecodeTheSameMove() {
+            final var move = new Move(List.of(N, NE, E, S, SW, W, N, N, S, E, E, W, N, NE, E, S, SW, W, N, N, S, E, W));
+            final var buffer = ByteBuffer.allocate(BoardCodec.encodedSize(move));
+
+            BoardCodec.encode(move, buffer);
+            final var decoded = BoardCodec.decodeMove(buffer.flip());
+
+            Assertions.assertThat(decoded).isEqualTo(move);
+            Assertions.assertThat(decoded.getMove()).containsExactlyElementsOf(move.getMove());
+        }
+
+        @Test
+        @DisplayName("should decode the empty move")
+        void shouldDecodeEmptyMove() {
+            final var buffer = ByteBuffer.allocate(BoardCodec.encodedSize(Move.emptyMove()));
+
+            BoardCodec.encode(Move.emptyMove(), buffer);
+
+            Assertions.assertThat(buffer.position()).isEqualTo(Integer.BYTES);
+            Assertions.assertThat(BoardCodec.decodeMove(buffer.flip())).isEqualTo(Move.emptyMove());
+        }
+    }
+}
@@ -11,11 +11,15 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 final class LegalMovesFutureTest implements WithAssertions {
@@ -355,4 +359,107 @@ final class LegalMovesFutureTest implements WithAssertions {
             }
         }
     }
+
+    @Nested
+    @DisplayName("executor")
+    class ExecutorConfiguration {
+
+        @AfterEach
+        void cleanUp() {
+            Boards.useSharedLegalMovesPool();
+        }
+
+        @Test
+        @DisplayName("caller thread computes all moves inside start")
+        void callerThreadComputesInsideStart() {
+            Boards.useCallerThreadForLegalMoves();
+            final var legalMovesFuture = board.allLegalMovesFuture();
+
+            legalMovesFuture.start(Duration.ofSeconds(1));
+
+            assertAll(
+                () -> assertThat(legalMovesFuture.isRunning()).isFalse(),
+                () -> assertThat(legalMovesFuture.partialResult()).hasSize(8)
+            );
+        }
+
+        @Test
+        @DisplayName("caller thread runs the whole parallel search by itself")
+        void callerThreadRunsParallelSearch() {
+            Boards.useCallerThreadForLegalMoves();
+            final var commonPool = ForkJoinPool.commonPool();
+            commonPool.awaitQuiescence(5, TimeUnit.SECONDS);
+            final var stealsBefore = commonPool.getStealCount();
+            final var legalMovesFuture = complicatedBoard.allLegalMovesFuture();
+
+            legalMovesFuture.startParallel(Duration.ofSeconds(30));
+            final var isRunning = legalMovesFuture.isRunning();
+            final var stealsAfter = commonPool.getStealCount();
+            final var numberOfMoves = legalMovesFuture.partialResult().size();
+
+            assertAll(
+                () -> assertThat(isRunning).isFalse(),
+                () -> assertThat(stealsAfter).isEqualTo(stealsBefore),
+                () -> assertThat((long) numberOfMoves).isEqualTo(complicatedBoard.legalMoves().count())
+            );
+        }
+
+        @Test
+        @DisplayName("computation runs on the caller-supplied executor")
+        void computationRunsOnGivenExecutor() {
+            final var executed = new AtomicInteger();
+            Boards.useLegalMovesExecutor(task -> {
+                executed.incrementAndGet();
+                task.run();
+            });
+            final var legalMovesFuture = board.allLegalMovesFuture();
+
+            legalMovesFuture.start(Duration.ofSeconds(1));
+
+            assertAll(
+                () -> assertThat(executed).hasValue(1),
+                () -> assertThat(legalMovesFuture.isRunning()).isFalse(),
+                () -> assertThat(legalMovesFuture.partialResult()).hasSize(8)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("startParallel")
+    class StartParallel {
+
+        @Test
+        @DisplayName("should find the same moves as sequential search")
+        void shouldFindTheSameMoves() {
+            final var legalMovesFuture = complicatedBoard.allLegalMovesFuture();
+            legalMovesFuture.startParallel(Duration.ofSeconds(30));
+
+            final var allMoves = new ArrayList<Move>();
+            while (legalMovesFuture.isRunning()) {
+                allMoves.addAll(legalMovesFuture.partialResult());
+            }
+            allMoves.addAll(legalMovesFuture.partialResult());
+
+            final var expected = complicatedBoard.legalMoves().collect(toList());
+            assertAll(
+                () -> assertThat(allMoves).hasSameSizeAs(expected),
+                () -> assertThat(new HashSet<>(allMoves)).isEqualTo(new HashSet<>(expected))
+            );
+        }
+
+        @Test
+        @DisplayName("should stop after cancel")
+        void shouldStopAfterCancel() {
+            final var legalMovesFuture = complicatedBoard.allLegalMovesFuture();
+            legalMovesFuture.startParallel(Duration.ofSeconds(30));
+
+            legalMovesFuture.cancel();
+            legalMovesFuture.partialResult();
+
+            assertAll(
+                () -> assertThat(legalMovesFuture.isRunning()).isFalse(),
+                () -> assertThat(legalMovesFuture.partialResult()).isEmpty()
+            );
+        }
+    }
 }
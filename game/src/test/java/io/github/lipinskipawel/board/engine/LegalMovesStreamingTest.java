@@ -0,0 +1,230 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+final class LegalMovesStreamingTest implements WithAssertions {
+
+    private final Board<Player> board = Boards.immutableBoard();
+    private final List<Move> movesAfterTwoMoves = List.of(
+        new Move(Collections.singletonList(Direction.NW)),
+        new Move(Collections.singletonList(Direction.N)),
+        new Move(Collections.singletonList(Direction.NE)),
+        new Move(Collections.singletonList(Direction.E)),
+        new Move(Collections.singletonList(Direction.SE)),
+        new Move(Collections.singletonList(Direction.S)),
+        new Move(Arrays.asList(Direction.SW, Direction.E)),
+        new Move(Arrays.asList(Direction.SW, Direction.SE)),
+        new Move(Arrays.asList(Direction.SW, Direction.S)),
+        new Move(Arrays.asList(Direction.SW, Direction.SW)),
+        new Move(Arrays.asList(Direction.SW, Direction.W)),
+        new Move(Arrays.asList(Direction.SW, Direction.NW))
+    );
+
+    private Board<Player> afterTwoMoves() {
+        return board
+            .executeMove(Direction.N)
+            .executeMove(Direction.E);
+    }
+
+    @Nested
+    @DisplayName("forEachLegalMove")
+    class ForEachLegalMove {
+
+        @Test
+        @DisplayName("two moves, one point of contact")
+        void shouldPassAllMoves() {
+            final var allMoves = new ArrayList<Move>();
+
+            afterTwoMoves().forEachLegalMove(allMoves::add);
+
+            assertThat(allMoves).containsExactlyInAnyOrderElementsOf(movesAfterTwoMoves);
+        }
+
+        @Test
+        @DisplayName("no moves when the game is over")
+        void noMovesWhenGameIsOver() {
+            final var allMoves = new ArrayList<Move>();
+            final var afterGoal = board
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.NW, Direction.NE)));
+
+            afterGoal.forEachLegalMove(allMoves::add);
+
+            assertThat(allMoves).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("legalMoves")
+    class LegalMoves {
+
+        @Test
+        @DisplayName("should find the same moves as allLegalMoves")
+        void shouldFindTheSameMovesAsAllLegalMoves() {
+            final var afterMoves = board
+                .executeMove(Direction.N)
+                .executeMove(Direction.E)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.E);
+
+            assertThat(afterMoves.legalMoves().collect(toList()))
+                .containsExactlyInAnyOrderElementsOf(afterMoves.allLegalMoves());
+        }
+
+        @Test
+        @DisplayName("should stop the search on short-circuiting operation")
+        void shouldStopTheSearch() {
+            final var spliterator = afterTwoMoves().legalMovesSpliterator();
+
+            final var found = new ArrayList<Move>();
+            spliterator.tryAdvance(found::add);
+            spliterator.tryAdvance(found::add);
+
+            assertThat(found)
+                .hasSize(2)
+                .doesNotHaveDuplicates();
+            assertThat(movesAfterTwoMoves).containsAll(found);
+        }
+    }
+
+    @Nested
+    @DisplayName("distinctLegalMoves")
+    class DistinctLegalMoves {
+
+        @Test
+        @DisplayName("should find one move for every distinct position")
+        void shouldFindOneMoveForEveryPosition() {
+            final var afterMoves = board
+                .executeMove(Direction.N)
+                .executeMove(Direction.E)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.E);
+            final var allPositions = afterMoves.legalMoves()
+                .map(move -> afterMoves.executeMove(move).positionKey())
+                .collect(toSet());
+
+            final var distinctMoves = afterMoves.distinctLegalMoves().collect(toList());
+
+            assertThat(distinctMoves.stream().map(move -> afterMoves.executeMove(move).positionKey()))
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(allPositions);
+        }
+
+        @Test
+        @DisplayName("should find all moves when every move leads to different position")
+        void shouldFindAllMovesWhenPositionsDiffer() {
+            assertThat(afterTwoMoves().distinctLegalMoves().collect(toList()))
+                .containsExactlyInAnyOrderElementsOf(movesAfterTwoMoves);
+        }
+    }
+
+    @Nested
+    @DisplayName("legalMovesPublisher")
+    class Publisher {
+
+        @Test
+        @DisplayName("should publish only requested moves")
+        void shouldPublishOnlyRequestedMoves() {
+            final var subscriber = new RecordingSubscriber();
+
+            afterTwoMoves().legalMovesPublisher().subscribe(subscriber);
+            subscriber.subscription.request(3);
+
+            assertThat(subscriber.moves).hasSize(3);
+            assertThat(subscriber.isCompleted).isFalse();
+        }
+
+        @Test
+        @DisplayName("should publish all moves and complete")
+        void shouldPublishAllMoves() {
+            final var subscriber = new RecordingSubscriber();
+
+            afterTwoMoves().legalMovesPublisher().subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.moves).containsExactlyInAnyOrderElementsOf(movesAfterTwoMoves);
+            assertThat(subscriber.isCompleted).isTrue();
+        }
+
+        @Test
+        @DisplayName("should complete when exactly all moves have been requested")
+        void shouldCompleteWhenAllMovesRequested() {
+            final var subscriber = new RecordingSubscriber();
+
+            afterTwoMoves().legalMovesPublisher().subscribe(subscriber);
+            subscriber.subscription.request(movesAfterTwoMoves.size());
+
+            assertThat(subscriber.moves).containsExactlyInAnyOrderElementsOf(movesAfterTwoMoves);
+            assertThat(subscriber.isCompleted).isTrue();
+        }
+
+        @Test
+        @DisplayName("should signal error on non-positive request")
+        void shouldSignalErrorOnNonPositiveRequest() {
+            final var subscriber = new RecordingSubscriber();
+
+            afterTwoMoves().legalMovesPublisher().subscribe(subscriber);
+            subscriber.subscription.request(0);
+
+            assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should not publish after cancel")
+        void shouldNotPublishAfterCancel() {
+            final var subscriber = new RecordingSubscriber();
+
+            afterTwoMoves().legalMovesPublisher().subscribe(subscriber);
+            subscriber.subscription.request(1);
+            subscriber.subscription.cancel();
+            subscriber.subscription.request(5);
+
+            assertThat(subscriber.moves).hasSize(1);
+            assertThat(subscriber.isCompleted).isFalse();
+        }
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Move> {
+        private final List<Move> moves = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean isCompleted;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Move item) {
+            this.moves.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.isCompleted = true;
+        }
+    }
+}
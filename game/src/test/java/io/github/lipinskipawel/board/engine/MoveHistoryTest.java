@@ -382,4 +382,53 @@ class MoveHistoryTest {
             Assertions.assertThat(afterMoves.currentPlayer()).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("persistence")
+    class PersistenceTest {
+
+        @Test
+        @DisplayName("should not change previous history")
+        void shouldNotChangePreviousHistory() {
+            final var afterMoves = moveLog
+                .addMove(new Move(List.of(Direction.S)))
+                .add(Direction.W);
+
+            afterMoves.addMove(new Move(List.of(Direction.N)));
+            afterMoves.forceUndo();
+            afterMoves.undoMove();
+
+            Assertions.assertThat(afterMoves.allDirections()).containsExactly(Direction.S, Direction.W);
+            Assertions.assertThat(afterMoves.allMoves()).containsExactly(new Move(List.of(Direction.S)));
+        }
+
+        @Test
+        @DisplayName("two branches from the same history")
+        void twoBranchesFromTheSameHistory() {
+            final var common = moveLog
+                .addMove(new Move(List.of(Direction.S)))
+                .add(Direction.W);
+
+            final var first = common.addMove(new Move(List.of(Direction.N)));
+            final var second = common.addMove(new Move(List.of(Direction.E)));
+
+            Assertions.assertThat(first.allDirections()).containsExactly(Direction.S, Direction.W, Direction.N);
+            Assertions.assertThat(second.allDirections()).containsExactly(Direction.S, Direction.W, Direction.E);
+        }
+
+        @Test
+        @DisplayName("equal histories have equal hash codes")
+        void equalHistoriesHaveEqualHashCodes() {
+            final var prepared = moveLog
+                .addMove(new Move(List.of(Direction.S)))
+                .addMove(new Move(List.of(Direction.E, Direction.N)));
+            final var afterMoves = moveLog
+                .addMove(new Move(List.of(Direction.S)))
+                .add(Direction.E)
+                .addMove(new Move(List.of(Direction.N)));
+
+            Assertions.assertThat(afterMoves).isEqualTo(prepared);
+            Assertions.assertThat(afterMoves.hashCode()).isEqualTo(prepared.hashCode());
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@DisplayName("API -- Move")
+class MoveTest {
+    // new Move(List.of(N, SE, W)) serialized by 7.0.2
+    private static final String SERIALIZED_BY_7_0 = "rO0ABXNyAClpby5naXRodWIubGlwaW5za2lwYXdlbC5ib2FyZC5lbmdpbmUuTW92Z" +
+        "fYv3duaa9QWAgABTAAKZGlyZWN0aW9uc3QAEExqYXZhL3V0aWwvTGlzdDt4cHNyABFqYXZhLnV0aWwuQ29sbFNlcleOq7Y6G6gRAwABSQAD" +
+        "dGFneHAAAAABdwQAAAADfnIALmlvLmdpdGh1Yi5saXBpbnNraXBhd2VsLmJvYXJkLmVuZ2luZS5EaXJlY3Rpb24AAAAAAAAAABIAAHhyAA5q" +
+        "YXZhLmxhbmcuRW51bQAAAAAAAAAAEgAAeHB0AAFOfnEAfgAFdAACU0V+cQB+AAV0AAFXeA==";
+
+    @Test
+    @DisplayName("should keep directions in order")
+    void shouldKeepDirectionsInOrder() {
+        final var directions = List.of(Direction.SW, Direction.N, Direction.NW, Direction.S);
+
+        final var move = new Move(directions);
+
+        Assertions.assertThat(move.size()).isEqualTo(4);
+        Assertions.assertThat(move.directionAt(2)).isEqualByComparingTo(Direction.NW);
+        Assertions.assertThat(move.getMove()).containsExactlyElementsOf(directions);
+    }
+
+    @Test
+    @DisplayName("should keep directions of the move longer than a single long")
+    void shouldKeepDirectionsOfLongMove() {
+        final var directions = new ArrayList<Direction>();
+        for (var i = 0; i < 50; i++) {
+            directions.add(Direction.values()[i % 8]);
+        }
+
+        final var move = new Move(directions);
+
+        Assertions.assertThat(move.size()).isEqualTo(50);
+        Assertions.assertThat(move.getMove()).containsExactlyElementsOf(directions);
+    }
+
+    @Test
+    @DisplayName("moves which differ only by trailing S are not equal")
+    void movesWithTrailingSAreNotEqual() {
+        final var move = new Move(List.of(Direction.N));
+        final var longerMove = new Move(List.of(Direction.N, Direction.S));
+
+        Assertions.assertThat(move).isNotEqualTo(longerMove);
+        Assertions.assertThat(Move.emptyMove()).isNotEqualTo(new Move(List.of(Direction.S)));
+    }
+
+    @Test
+    @DisplayName("equal moves have equal hash codes")
+    void equalMovesHaveEqualHashCodes() {
+        final var move = new Move(List.of(Direction.N, Direction.E));
+        final var sameMove = new Move(new ArrayList<>(List.of(Direction.N, Direction.E)));
+
+        Assertions.assertThat(move).isEqualTo(sameMove);
+        Assertions.assertThat(move.hashCode()).isEqualTo(sameMove.hashCode());
+    }
+
+    @Test
+    @DisplayName("should not allow index out of the move")
+    void shouldNotAllowIndexOutOfMove() {
+        final var move = new Move(List.of(Direction.N));
+
+        Assertions.assertThatThrownBy(() -> move.directionAt(1))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("should unpack directions packed in the same layout as the move")
+    void shouldUnpackPackedDirections() {
+        final var directions = new ArrayList<Direction>();
+        for (var i = 0; i < 30; i++) {
+            directions.add(Direction.values()[(i * 3) % 8]);
+        }
+        final var packed = new long[Move.longsFor(directions.size())];
+        for (var i = 0; i < directions.size(); i++) {
+            packed[i / Move.DIRECTIONS_PER_LONG] = Move.pack(packed[i / Move.DIRECTIONS_PER_LONG], i, directions.get(i));
+        }
+
+        final var move = new Move(directions);
+
+        for (var i = 0; i < directions.size(); i++) {
+            Assertions.assertThat(Move.unpack(packed[i / Move.DIRECTIONS_PER_LONG], i)).isEqualTo(directions.get(i));
+            Assertions.assertThat(packed[i / Move.DIRECTIONS_PER_LONG])
+                .isEqualTo(move.packedAt(i / Move.DIRECTIONS_PER_LONG));
+        }
+    }
+
+    @Nested
+    @DisplayName("serialization")
+    class Serialization {
+
+        @Test
+        @DisplayName("should read the move serialized by 7.0")
+        void shouldReadMoveSerializedByPreviousVersion() throws Exception {
+            final var serialized = Base64.getDecoder().decode(SERIALIZED_BY_7_0);
+
+            final var move = deserialize(serialized);
+
+            Assertions.assertThat(move).isEqualTo(new Move(List.of(Direction.N, Direction.SE, Direction.W)));
+        }
+
+        @Test
+        @DisplayName("should read what has been written")
+        void shouldReadWrittenMoves() throws Exception {
+            final var directions = new ArrayList<Direction>();
+            for (var i = 0; i < 50; i++) {
+                directions.add(Direction.values()[i % 8]);
+            }
+            final var longMove = new Move(directions);
+
+            Assertions.assertThat(deserialize(serialize(longMove))).isEqualTo(longMove);
+            Assertions.assertThat(deserialize(serialize(Move.emptyMove()))).isEqualTo(Move.emptyMove());
+        }
+
+        private byte[] serialize(final Move move) throws IOException {
+            final var bytes = new ByteArrayOutputStream();
+            try (var out = new ObjectOutputStream(bytes)) {
+                out.writeObject(move);
+            }
+            return bytes.toByteArray();
+        }
+
+        private Move deserialize(final byte[] serialized) throws IOException, ClassNotFoundException {
+            try (var in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                return (Move) in.readObject();
+            }
+        }
+    }
+}
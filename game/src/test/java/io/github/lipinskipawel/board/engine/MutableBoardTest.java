@@ -0,0 +1,187 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.NE;
+import static io.github.lipinskipawel.board.engine.Direction.NW;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.SE;
+import static io.github.lipinskipawel.board.engine.Direction.SW;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("API -- MutableBoard")
+class MutableBoardTest {
+
+    private Board<Player> board;
+
+    @BeforeEach
+    void setUp() {
+        this.board = Boards.immutableBoard();
+    }
+
+    @Nested
+    @DisplayName("make")
+    class Make {
+
+        @Test
+        @DisplayName("should follow the same rules as executeMove")
+        void shouldFollowExecuteMove() {
+            final var mutableBoard = Boards.mutableBoard(board);
+            final var directions = List.of(N, SE, W, NE, W, SW, E, NW, S, SE);
+            var immutable = board;
+
+            for (var direction : directions) {
+                mutableBoard.make(direction);
+                immutable = immutable.executeMove(direction);
+
+                final var expected = immutable;
+                assertAll(
+                    () -> Assertions.assertThat(mutableBoard.getBallPosition()).isEqualTo(expected.getBallPosition()),
+                    () -> Assertions.assertThat(mutableBoard.getPlayer()).isEqualTo(expected.getPlayer()),
+                    () -> Assertions.assertThat(mutableBoard.isGameOver()).isEqualTo(expected.isGameOver())
+                );
+            }
+        }
+
+        @Test
+        @DisplayName("should not make not allowed move")
+        void shouldNotMakeNotAllowedMove() {
+            final var mutableBoard = Boards.mutableBoard(board);
+            mutableBoard.make(N);
+
+            Assertions.assertThat(mutableBoard.make(S)).isFalse();
+            Assertions.assertThat(mutableBoard.getBallPosition()).isEqualTo(49);
+        }
+
+        @Test
+        @DisplayName("should make move all or nothing")
+        void shouldMakeMoveAllOrNothing() {
+            final var mutableBoard = Boards.mutableBoard(board);
+
+            final var made = mutableBoard.make(new Move(List.of(N, S)));
+
+            Assertions.assertThat(made).isFalse();
+            Assertions.assertThat(mutableBoard.freeze()).isEqualTo(board);
+        }
+
+        @Test
+        @DisplayName("should not change the board it has been created from")
+        void shouldNotChangeSourceBoard() {
+            final var mutableBoard = Boards.mutableBoard(board);
+
+            mutableBoard.make(new Move(List.of(N)));
+
+            Assertions.assertThat(board).isEqualTo(Boards.immutableBoard());
+        }
+    }
+
+    @Nested
+    @DisplayName("unmake")
+    class Unmake {
+
+        @Test
+        @DisplayName("should revert the whole move")
+        void shouldRevertTheWholeMove() {
+            final var mutableBoard = Boards.mutableBoard(board);
+            mutableBoard.make(new Move(List.of(N)));
+            mutableBoard.make(new Move(List.of(NE)));
+            mutableBoard.make(new Move(List.of(S, W)));
+
+            mutableBoard.unmake();
+
+            assertAll(
+                () -> Assertions.assertThat(mutableBoard.getPlayer()).isEqualTo(Player.FIRST),
+                () -> Assertions.assertThat(mutableBoard.freeze())
+                    .isEqualTo(board.executeMove(new Move(List.of(N))).executeMove(new Move(List.of(NE))))
+            );
+        }
+
+        @Test
+        @DisplayName("should go back to the starting board")
+        void shouldGoBackToStartingBoard() {
+            final var mutableBoard = Boards.mutableBoard(board);
+            mutableBoard.make(N);
+            mutableBoard.make(E);
+            mutableBoard.make(SW);
+
+            mutableBoard.unmake();
+            mutableBoard.unmake();
+            mutableBoard.unmake();
+
+            Assertions.assertThat(mutableBoard.freeze()).isEqualTo(board);
+        }
+
+        @Test
+        @DisplayName("should throw when nothing has been made")
+        void shouldThrowWhenNothingHasBeenMade() {
+            final var mutableBoard = Boards.mutableBoard(board.executeMove(N));
+
+            assertThrows(RuntimeException.class, mutableBoard::unmake);
+        }
+
+        @Test
+        @DisplayName("should keep the goal closed when the move into the goal is unmade")
+        void shouldKeepGoalClosedAfterUnmake() {
+            final var beforeGoal = board
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(N)
+                .executeMove(NW);
+            final var mutableBoard = Boards.mutableBoard(beforeGoal);
+            final var beforeMake = mutableBoard.toString();
+
+            mutableBoard.make(NE);
+            mutableBoard.unmake();
+
+            Assertions.assertThat(mutableBoard.toString()).isEqualTo(beforeMake);
+        }
+    }
+
+    @Nested
+    @DisplayName("freeze")
+    class Freeze {
+
+        @Test
+        @DisplayName("should be equal to board after the same moves")
+        void shouldBeEqualToBoardAfterTheSameMoves() {
+            final var start = board.executeMove(N).executeMove(E);
+            final var mutableBoard = Boards.mutableBoard(start);
+            mutableBoard.make(SW);
+            mutableBoard.make(new Move(List.of(W, NW)));
+
+            final var frozen = mutableBoard.freeze();
+
+            Assertions.assertThat(frozen)
+                .usingRecursiveComparison()
+                .isEqualTo(start.executeMove(SW).executeMove(W).executeMove(NW));
+        }
+
+        @Test
+        @DisplayName("should know the winner of frozen board")
+        void shouldKnowTheWinner() {
+            final var mutableBoard = Boards.mutableBoard(Boards.bitBoard());
+            mutableBoard.make(new Move(List.of(N)));
+            mutableBoard.make(new Move(List.of(N)));
+            mutableBoard.make(new Move(List.of(N)));
+            mutableBoard.make(new Move(List.of(N)));
+            mutableBoard.make(new Move(List.of(NW, NE)));
+
+            assertAll(
+                () -> Assertions.assertThat(mutableBoard.isGoal()).isTrue(),
+                () -> Assertions.assertThat(mutableBoard.takeTheWinner()).contains(Player.FIRST),
+                () -> Assertions.assertThat(mutableBoard.freeze().takeTheWinner()).contains(Player.FIRST)
+            );
+        }
+    }
+}
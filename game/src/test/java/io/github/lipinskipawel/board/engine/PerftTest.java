@@ -0,0 +1,128 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+@DisplayName("API -- perft")
+class PerftTest implements WithAssertions {
+
+    private final Board<Player> board = Boards.immutableBoard();
+
+    @Nested
+    @DisplayName("countLegalMoves")
+    class CountLegalMoves {
+
+        @Test
+        @DisplayName("eight moves on the empty board")
+        void eightMovesOnEmptyBoard() {
+            final var result = board.countLegalMoves(Duration.ofSeconds(5));
+
+            assertThat(result.moves()).isEqualTo(8);
+            assertThat(result.isComplete()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should count the same number of moves as legalMoves")
+        void shouldCountTheSameAsLegalMoves() {
+            final var afterMoves = board
+                .executeMove(Direction.N)
+                .executeMove(Direction.E)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.SW)
+                .executeMove(Direction.E);
+
+            final var result = afterMoves.countLegalMoves(Duration.ofSeconds(5));
+
+            assertThat(result.moves()).isEqualTo(afterMoves.legalMoves().count());
+        }
+
+        @Test
+        @DisplayName("no moves when the game is over")
+        void noMovesWhenGameIsOver() {
+            final var afterGoal = board
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.NW, Direction.NE)));
+
+            final var result = afterGoal.countLegalMoves(Duration.ofSeconds(5));
+
+            assertThat(result.moves()).isZero();
+            assertThat(result.nodes()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("perft")
+    class PerftOfManyMoves {
+
+        @Test
+        @DisplayName("should count answers of the other player")
+        void shouldCountAnswersOfTheOtherPlayer() {
+            final var result = board.perft(2);
+
+            assertThat(result.moves()).isEqualTo(8 * 7);
+            assertThat(result.depth()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should count the same moves as moves played one by one")
+        void shouldCountTheSameAsPlayedMoves() {
+            final var afterMoves = board
+                .executeMove(Direction.N)
+                .executeMove(Direction.E)
+                .executeMove(Direction.SW);
+            var expected = 0L;
+            for (var move : afterMoves.allLegalMoves()) {
+                expected += afterMoves.executeMove(move).legalMoves().count();
+            }
+
+            assertThat(afterMoves.perft(2).moves()).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("should count terminal positions")
+        void shouldCountTerminalPositions() {
+            final var nearGoal = board
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)))
+                .executeMove(new Move(List.of(Direction.N)));
+
+            final var result = nearGoal.perft(2);
+
+            assertThat(result.terminalPositions()).isPositive();
+        }
+
+        @Test
+        @DisplayName("should not accept non-positive depth")
+        void shouldNotAcceptNonPositiveDepth() {
+            assertThatThrownBy(() -> board.perft(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("parallel perft counts the same as sequential one")
+        void parallelCountsTheSame() {
+            final var sequential = board.perft(3);
+
+            final var parallel = board.parallelPerft(3, Duration.ofSeconds(10));
+
+            assertThat(parallel).isEqualTo(sequential);
+            assertThat(parallel.isComplete()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should return partial counts after timeout")
+        void shouldReturnPartialCountsAfterTimeout() {
+            final var result = board.perft(6, Duration.ZERO);
+
+            assertThat(result.isComplete()).isFalse();
+        }
+    }
+}
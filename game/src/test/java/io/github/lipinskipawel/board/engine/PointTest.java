@@ -53,4 +53,73 @@ class PointTest {
                 .isInstanceOf(RuntimeException.class);
         }
     }
+
+    @Nested
+    @DisplayName("directions")
+    class Directions {
+
+        @Test
+        @DisplayName("new point has all directions available")
+        void allDirectionsAvailable() {
+            final var point = new Point(50);
+
+            Assertions.assertThat(point.getAllowedDirection()).containsExactlyInAnyOrder(Direction.values());
+            Assertions.assertThat(point.getUnavailableDirection()).isEmpty();
+            Assertions.assertThat(point.countAllowedDirections()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("not available directions are counted")
+        void notAvailableDirections() {
+            final var point = new Point(50);
+
+            point.notAvailableDirections(Direction.N, Direction.SE);
+
+            Assertions.assertThat(point.getUnavailableDirection()).containsExactlyInAnyOrder(Direction.N, Direction.SE);
+            Assertions.assertThat(point.countAllowedDirections()).isEqualTo(6);
+            Assertions.assertThat(point.countUnavailableDirections()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should not mutate original point")
+        void notAvailableDirection() {
+            final var point = new Point(50);
+
+            final var afterMove = point.notAvailableDirection(Direction.W);
+
+            Assertions.assertThat(point.isAvailable(Direction.W)).isTrue();
+            Assertions.assertThat(afterMove.isAvailable(Direction.W)).isFalse();
+            Assertions.assertThat(afterMove).isNotEqualTo(point);
+        }
+
+        @Test
+        @DisplayName("should return the same list for the same directions")
+        void cachedDirections() {
+            final var first = new Point(50).notAvailableDirection(Direction.E);
+            final var second = new Point(60).notAvailableDirection(Direction.E);
+
+            Assertions.assertThat(first.getAllowedDirection()).isSameAs(second.getAllowedDirection());
+        }
+
+        @Test
+        @DisplayName("mask should match allowed directions")
+        void maskShouldMatchAllowedDirections() {
+            final var point = new Point(50)
+                .notAvailableDirection(Direction.S)
+                .notAvailableDirection(Direction.NE);
+
+            final var mask = point.allowedMask();
+
+            Assertions.assertThat(Integer.bitCount(mask)).isEqualTo(6);
+            Assertions.assertThat(Direction.fromMask(mask)).isEqualTo(point.getAllowedDirection());
+        }
+
+        @Test
+        @DisplayName("fromMask should map single bits to directions")
+        void fromMaskShouldMapBits() {
+            for (var direction : Direction.values()) {
+                Assertions.assertThat(Direction.fromMask(direction.bit())).containsExactly(direction);
+            }
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package io.github.lipinskipawel.board.engine;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.github.lipinskipawel.board.engine.Direction.E;
+import static io.github.lipinskipawel.board.engine.Direction.N;
+import static io.github.lipinskipawel.board.engine.Direction.NE;
+import static io.github.lipinskipawel.board.engine.Direction.S;
+import static io.github.lipinskipawel.board.engine.Direction.SW;
+import static io.github.lipinskipawel.board.engine.Direction.W;
+
+@DisplayName("API -- position notation")
+class PositionNotationTest {
+    private static final String STARTING_POSITION = "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 58 1";
+
+    @Test
+    @DisplayName("should format the starting position")
+    void shouldFormatStartingPosition() {
+        Assertions.assertThat(Boards.positionNotation(Boards.immutableBoard())).isEqualTo(STARTING_POSITION);
+        Assertions.assertThat(Boards.positionNotation(Boards.bitBoard())).isEqualTo(STARTING_POSITION);
+    }
+
+    @Test
+    @DisplayName("should parse the formatted position")
+    void shouldParseFormattedPosition() {
+        final var board = Boards.immutableBoard()
+            .executeMove(N)
+            .executeMove(E)
+            .executeMove(SW)
+            .executeMove(W)
+            .executeMove(NE);
+
+        final var parsed = Boards.fromPositionNotation(Boards.positionNotation(board));
+
+        Assertions.assertThat(parsed.transform()).isEqualTo(board.transform());
+        Assertions.assertThat(parsed.getBallPosition()).isEqualTo(board.getBallPosition());
+        Assertions.assertThat(parsed.getPlayer()).isEqualTo(Player.SECOND);
+        Assertions.assertThat(parsed.positionKey()).isEqualTo(board.positionKey());
+        Assertions.assertThat(parsed.allMoves()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should parse the position with custom players")
+    void shouldParsePositionWithCustomPlayers() {
+        final var board = Boards.bitBoardWithCustomPlayer("first", "second").executeMove(S);
+
+        final var parsed = Boards.fromPositionNotation(Boards.positionNotation(board), "first", "second");
+
+        Assertions.assertThat(parsed.getPlayer()).isEqualTo("second");
+        Assertions.assertThat(parsed.isMoveAllowed(N)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject invalid notation")
+    void shouldRejectInvalidNotation() {
+        final var notations = List.of(
+            "",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 58",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 58 3",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA 117 1",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA  58 1",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA! 58 1",
+            "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA_ 58 1"
+        );
+
+        for (var notation : notations) {
+            Assertions.assertThatThrownBy(() -> Boards.fromPositionNotation(notation))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import static io.github.lipinskipawel.board.engine.Direction.E;
@@ -140,4 +142,75 @@ class TransformationTest {
             Assertions.assertThat(doubles).containsExactly(preparedDoubles);
         }
     }
+
+    @Nested
+    @DisplayName("caller-supplied buffers")
+    class CallerSuppliedBuffers {
+        private final Board<Player> board = Boards.bitBoard()
+            .executeMove(N)
+            .executeMove(E)
+            .executeMove(SW);
+
+        @Test
+        @DisplayName("int array at offset should be the same as transform")
+        void intArrayAtOffset() {
+            final var target = new int[Boards.TRANSFORMATION_LENGTH + 10];
+
+            board.transform(target, 10);
+
+            Assertions.assertThat(Arrays.copyOfRange(target, 10, target.length)).containsExactly(board.transform());
+            Assertions.assertThat(Arrays.copyOfRange(target, 0, 10)).containsOnly(0);
+        }
+
+        @Test
+        @DisplayName("byte buffer should be the same as transform")
+        void byteBuffer() {
+            final var target = ByteBuffer.allocate(Boards.TRANSFORMATION_LENGTH);
+            final var expected = board.transform();
+
+            board.transform(target);
+
+            Assertions.assertThat(target.position()).isEqualTo(Boards.TRANSFORMATION_LENGTH);
+            for (var i = 0; i < expected.length; i++) {
+                Assertions.assertThat(target.get(i)).isEqualTo((byte) expected[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("float array should be the same as nonBinaryTransformation")
+        void floatArray() {
+            final var target = new float[Boards.TRANSFORMATION_LENGTH];
+            final var expected = board.nonBinaryTransformation();
+
+            board.nonBinaryTransformation(target, 0);
+
+            for (var i = 0; i < expected.length; i++) {
+                Assertions.assertThat(target[i]).isEqualTo((float) expected[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("should not write into too small array")
+        void tooSmallArray() {
+            final var target = new byte[Boards.TRANSFORMATION_LENGTH];
+
+            Assertions.assertThatThrownBy(() -> board.transform(target, 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+            Assertions.assertThat(target).containsOnly(0);
+        }
+
+        @Test
+        @DisplayName("batch should write boards one after another")
+        void batch() {
+            final var boards = List.of(board, Boards.immutableBoard());
+            final var target = new int[2 * Boards.TRANSFORMATION_LENGTH];
+
+            Boards.transformAll(boards, target, 0);
+
+            Assertions.assertThat(Arrays.copyOfRange(target, 0, Boards.TRANSFORMATION_LENGTH))
+                .containsExactly(board.transform());
+            Assertions.assertThat(Arrays.copyOfRange(target, Boards.TRANSFORMATION_LENGTH, target.length))
+                .containsExactly(Boards.immutableBoard().transform());
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package io.github.lipinskipawel.board.training;
+
+import io.github.lipinskipawel.board.engine.Boards;
+import io.github.lipinskipawel.board.engine.Direction;
+import io.github.lipinskipawel.board.engine.Move;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.github.lipinskipawel.board.training.TrainingDataExporter.HEADER_SIZE;
+import static io.github.lipinskipawel.board.training.TrainingDataExporter.RECORD_SIZE;
+
+@DisplayName("API -- TrainingDataExporter")
+final class TrainingDataExporterTest implements WithAssertions {
+
+    private static final List<Move> WON_BY_FIRST = List.of(
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.N)),
+        new Move(List.of(Direction.NW, Direction.NE))
+    );
+    private static final List<Move> NOT_FINISHED = List.of(
+        new Move(List.of(Direction.S)),
+        new Move(List.of(Direction.E))
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("should split games into shards")
+    void shouldSplitGamesIntoShards() throws IOException {
+        final var exporter = new TrainingDataExporter(directory, 2);
+
+        final var shards = exporter.export(List.of(WON_BY_FIRST, NOT_FINISHED, NOT_FINISHED));
+
+        assertThat(shards).hasSize(2);
+        assertThat(map(shards.get(0)).getInt(16)).isEqualTo(2);
+        assertThat(map(shards.get(1)).getInt(16)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should write header, records and index")
+    void shouldWriteHeaderRecordsAndIndex() throws IOException {
+        final var exporter = new TrainingDataExporter(directory, 10);
+
+        final var shard = map(exporter.export(List.of(WON_BY_FIRST, NOT_FINISHED)).get(0));
+
+        assertThat(shard.getInt(0)).isEqualTo(TrainingDataExporter.MAGIC);
+        assertThat(shard.getInt(8)).isEqualTo(RECORD_SIZE);
+        assertThat(shard.getLong(24)).isEqualTo(8);
+        final var indexOffset = (int) shard.getLong(40);
+        assertThat(shard.getLong(indexOffset)).isZero();
+        assertThat(shard.getLong(indexOffset + 8)).isEqualTo(6);
+        assertThat(shard.getLong(indexOffset + 16)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("should label records with played direction and winner")
+    void shouldLabelRecords() throws IOException {
+        final var exporter = new TrainingDataExporter(directory, 10);
+
+        final var shard = map(exporter.export(List.of(WON_BY_FIRST, NOT_FINISHED)).get(0));
+
+        final var lastOfFirstGame = HEADER_SIZE + 5 * RECORD_SIZE;
+        assertThat(shard.get(lastOfFirstGame + Boards.TRANSFORMATION_LENGTH + 1)).isEqualTo((byte) Direction.NE.ordinal());
+        assertThat(shard.get(lastOfFirstGame + Boards.TRANSFORMATION_LENGTH + 2)).isEqualTo((byte) 0);
+        final var firstOfSecondGame = HEADER_SIZE + 6 * RECORD_SIZE;
+        assertThat(shard.get(firstOfSecondGame + Boards.TRANSFORMATION_LENGTH + 2)).isEqualTo((byte) 2);
+        assertThat(shard.getInt(firstOfSecondGame + Boards.TRANSFORMATION_LENGTH + 4)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should write features of the position before the direction")
+    void shouldWriteFeatures() throws IOException {
+        final var exporter = new TrainingDataExporter(directory, 10);
+        final var expected = Boards.bitBoard().executeMove(Direction.S).transform();
+
+        final var shard = map(exporter.export(List.of(NOT_FINISHED)).get(0));
+
+        final var secondRecord = HEADER_SIZE + RECORD_SIZE;
+        for (var i = 0; i < expected.length; i++) {
+            assertThat(shard.get(secondRecord + i)).isEqualTo((byte) expected[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("should not accept game with not allowed direction")
+    void shouldNotAcceptIllegalGame() {
+        final var exporter = new TrainingDataExporter(directory, 10);
+        final var illegal = List.of(new Move(List.of(Direction.N)), new Move(List.of(Direction.S)));
+
+        assertThatThrownBy(() -> exporter.export(List.of(illegal)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should delete all shards when any game has not been exported")
+    void shouldDeleteShardsOfFailedExport() throws IOException {
+        final var exporter = new TrainingDataExporter(directory, 1);
+        final var illegal = List.of(new Move(List.of(Direction.N)), new Move(List.of(Direction.S)));
+
+        assertThatThrownBy(() -> exporter.export(List.of(WON_BY_FIRST, illegal, NOT_FINISHED)))
+            .isInstanceOf(IllegalArgumentException.class);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static MappedByteBuffer map(final Path shard) throws IOException {
+        try (var channel = FileChannel.open(shard)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+}